@@ -0,0 +1,30 @@
+package com.lance.common.annotation;
+
+import com.lance.common.enums.MaskType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 字段脱敏注解
+ * <p>
+ * 标注在 DTO 字段或 getter 上，注册 {@link com.lance.common.jackson.MaskModule} 后，
+ * Jackson 序列化时直接输出脱敏后的值，调用方无需再手动调用 MaskUtil
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Mask {
+
+    /**
+     * 敏感信息类型
+     */
+    MaskType type();
+}
@@ -0,0 +1,41 @@
+package com.lance.common.enums;
+
+/**
+ * 脱敏字段类型枚举
+ * <p>
+ * 配合 {@link com.lance.common.annotation.Mask} 声明字段的敏感信息类型，按类型保留首尾字符：
+ * 手机号保留前 3 后 4 位，身份证号保留前 6 后 4 位，银行卡号保留后 4 位，邮箱只遮盖 '@' 之前除首字符外的部分。
+ * 内容长度不足以按类型脱敏时退回 MaskUtil 的 mask(content, 4) 规则
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public enum MaskType {
+    PHONE(3, 4),
+    ID_CARD(6, 4),
+    BANK_CARD(0, 4),
+    EMAIL(1, 0);
+
+    private final int visiblePrefix;
+    private final int visibleSuffix;
+
+    MaskType(int visiblePrefix, int visibleSuffix) {
+        this.visiblePrefix = visiblePrefix;
+        this.visibleSuffix = visibleSuffix;
+    }
+
+    /**
+     * 开头保留的字符数，邮箱为本地部分开头保留的字符数
+     */
+    public int getVisiblePrefix() {
+        return visiblePrefix;
+    }
+
+    /**
+     * 末尾保留的字符数，邮箱的域名部分始终保留
+     */
+    public int getVisibleSuffix() {
+        return visibleSuffix;
+    }
+}
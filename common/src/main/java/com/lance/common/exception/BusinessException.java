@@ -1,10 +1,13 @@
 package com.lance.common.exception;
 
+import com.lance.common.metrics.ErrorMetrics;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 业务异常类
@@ -12,6 +15,14 @@ import java.util.Objects;
  * 用于处理业务逻辑中的异常情况，支持多种构造方式
  * 包含错误码、错误信息和原始异常信息
  * </p>
+ * <p>
+ * 支持无堆栈模式：{@link IError#isStackless()} 为 true 或全局开启（系统属性 business.exception.stackless=true）时，
+ * 创建异常不再采集堆栈；传入 cause 或开启调试模式（系统属性 business.exception.debug=true）时仍保留完整堆栈。
+ * 对于枚举类型的错误，可通过 {@link #of(IError)} 复用同一个无堆栈异常实例
+ * </p>
+ * <p>
+ * 每次创建或复用异常都会计入 {@link ErrorMetrics}
+ * </p>
  *
  * @author xiaolong.shu
  * @date 2025年10月24日 11:20
@@ -19,38 +30,91 @@ import java.util.Objects;
 @EqualsAndHashCode(callSuper = true)
 @Getter
 public class BusinessException extends RuntimeException {
+
+    private static volatile boolean stacklessByDefault = Boolean.getBoolean("business.exception.stackless");
+    private static volatile boolean debug = Boolean.getBoolean("business.exception.debug");
+    private static final Map<IError, BusinessException> SHARED = new ConcurrentHashMap<>();
+
     private IError error;
 
     public BusinessException(String msg) {
-        super(msg);
+        super(msg, null, true, writableStackTrace(null, null));
         this.error = Errors.INTERNAL_SERVER_ERROR.format(msg);
+        ErrorMetrics.recordException(this.error);
     }
 
     public BusinessException(String msg, Throwable cause) {
-        super(msg, cause);
+        super(msg, cause, true, writableStackTrace(null, cause));
         this.error = Errors.INTERNAL_SERVER_ERROR.format(msg).setCause(cause);
+        ErrorMetrics.recordException(this.error);
     }
 
     public BusinessException(Integer code, String msg) {
-        super(StringUtils.isNotBlank(msg) ? msg : code.toString());
+        super(StringUtils.isNotBlank(msg) ? msg : code.toString(), null, true, writableStackTrace(null, null));
         this.error = Errors.error(code, msg);
+        ErrorMetrics.recordException(this.error);
     }
 
     public BusinessException(Integer code, String msg, Throwable cause) {
-        super(StringUtils.isNotBlank(msg) ? msg : code.toString(), cause);
+        super(StringUtils.isNotBlank(msg) ? msg : code.toString(), cause, true, writableStackTrace(null, cause));
         this.error = Errors.error(code, msg).setCause(cause);
+        ErrorMetrics.recordException(this.error);
     }
 
     public BusinessException(IError error) {
-        super(error.getMsg());
+        super(error.getMsg(), null, true, writableStackTrace(error, null));
         Objects.nonNull(error);
         this.error = error;
+        ErrorMetrics.recordException(this.error);
     }
 
     public BusinessException(IError error, Throwable cause) {
-        super(error.getMsg(), cause);
+        super(error.getMsg(), cause, true, writableStackTrace(error, cause));
         Objects.nonNull(error);
         this.error = error;
+        ErrorMetrics.recordException(this.error);
+    }
+
+    /**
+     * 共享实例：不采集堆栈且禁用 suppressed，状态不可变，可安全地被多个线程重复抛出
+     */
+    private BusinessException(IError error, boolean shared) {
+        super(error.getMsg(), null, false, false);
+        this.error = error;
+    }
+
+    /**
+     * 获取业务异常，枚举类型的错误在无堆栈模式下复用同一个实例，其余情况创建新实例
+     *
+     * @param error 错误信息
+     * @return 业务异常
+     */
+    public static BusinessException of(IError error) {
+        if (error instanceof Enum && !writableStackTrace(error, null)) {
+            ErrorMetrics.recordException(error);
+            return SHARED.computeIfAbsent(error, key -> new BusinessException(key, true));
+        }
+        return new BusinessException(error);
+    }
+
+    /**
+     * 设置全局无堆栈模式，默认取系统属性 business.exception.stackless
+     */
+    public static void setStacklessByDefault(boolean stackless) {
+        stacklessByDefault = stackless;
     }
-}
 
+    /**
+     * 设置调试模式，开启后始终采集堆栈，默认取系统属性 business.exception.debug
+     */
+    public static void setDebug(boolean enabled) {
+        debug = enabled;
+    }
+
+    private static boolean writableStackTrace(IError error, Throwable cause) {
+        if (cause != null || debug) {
+            return true;
+        }
+        return !(stacklessByDefault || (error != null && error.isStackless()));
+    }
+}
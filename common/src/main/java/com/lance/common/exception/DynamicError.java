@@ -16,6 +16,7 @@ public class DynamicError implements IError {
     private int httpCode = 200;
     private Object responseBody;
     private Throwable cause;
+    private boolean stackless;
     
     public DynamicError setCode(Integer code) {
         this.code = code;
@@ -42,6 +43,11 @@ public class DynamicError implements IError {
         return this;
     }
     
+    public DynamicError setStackless(boolean stackless) {
+        this.stackless = stackless;
+        return this;
+    }
+    
     @Override
     public Integer getCode() {
         return code;
@@ -66,5 +72,10 @@ public class DynamicError implements IError {
     public Throwable getCause() {
         return cause;
     }
+    
+    @Override
+    public boolean isStackless() {
+        return stackless;
+    }
 }
 
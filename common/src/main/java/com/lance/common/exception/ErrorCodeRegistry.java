@@ -0,0 +1,120 @@
+package com.lance.common.exception;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 错误码注册表
+ * <p>
+ * 汇总所有 IError 枚举的错误码，提供按错误码反查枚举常量的能力，
+ * 用于 Feign 解码器、全局异常处理器等场景将外部传入的错误码映射为共享常量，而不是每次创建 DynamicError。
+ * 注册时检测重复错误码并立即失败；查询基于不可变快照，0 到 {@value #DENSE_LIMIT} 之间的错误码使用数组直接寻址，无锁且不分配对象。
+ * {@link Errors} 默认已注册，其余枚举需在启动时通过 {@link #register(Class)} 注册
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public final class ErrorCodeRegistry {
+
+    private static final int DENSE_LIMIT = 65536;
+
+    private static final Set<Class<?>> REGISTERED = new HashSet<>();
+    private static final Map<Integer, IError> ERRORS = new HashMap<>();
+    private static volatile Snapshot snapshot = new Snapshot(new IError[0], Collections.emptyMap());
+
+    static {
+        register(Errors.class);
+    }
+
+    private ErrorCodeRegistry() {
+    }
+
+    /**
+     * 注册 IError 枚举，重复注册同一个枚举不产生影响
+     *
+     * @param type IError 枚举类型
+     * @throws IllegalArgumentException 类型不是枚举
+     * @throws IllegalStateException    错误码与已注册的错误重复，此时本次注册不生效
+     */
+    public static synchronized void register(Class<? extends IError> type) {
+        if (!type.isEnum()) {
+            throw new IllegalArgumentException("IError type must be an enum: " + type.getName());
+        }
+        if (REGISTERED.contains(type)) {
+            return;
+        }
+        Map<Integer, IError> errors = new HashMap<>(ERRORS);
+        for (IError error : type.getEnumConstants()) {
+            if (error.getCode() == null) {
+                continue;
+            }
+            IError existing = errors.putIfAbsent(error.getCode(), error);
+            if (existing != null) {
+                throw new IllegalStateException(String.format("Duplicate error code %s: %s and %s",
+                        error.getCode(), describe(existing), describe(error)));
+            }
+        }
+        REGISTERED.add(type);
+        ERRORS.putAll(errors);
+        snapshot = Snapshot.of(ERRORS);
+    }
+
+    /**
+     * 按错误码查找已注册的错误
+     *
+     * @param code 错误码
+     * @return 共享的枚举常量，未注册时返回 null
+     */
+    public static IError resolve(int code) {
+        Snapshot current = snapshot;
+        if (code >= 0 && code < current.dense.length) {
+            return current.dense[code];
+        }
+        return current.sparse.get(code);
+    }
+
+    /**
+     * 按错误码查找已注册的错误，未注册时使用错误码和错误信息创建 DynamicError
+     */
+    public static IError resolve(int code, String msg) {
+        IError error = resolve(code);
+        return error != null ? error : Errors.error(code, msg);
+    }
+
+    private static String describe(IError error) {
+        return error.getClass().getName() + "." + ((Enum<?>) error).name();
+    }
+
+    private static final class Snapshot {
+        private final IError[] dense;
+        private final Map<Integer, IError> sparse;
+
+        private Snapshot(IError[] dense, Map<Integer, IError> sparse) {
+            this.dense = dense;
+            this.sparse = sparse;
+        }
+
+        private static Snapshot of(Map<Integer, IError> errors) {
+            int max = -1;
+            for (Integer code : errors.keySet()) {
+                if (code >= 0 && code < DENSE_LIMIT) {
+                    max = Math.max(max, code);
+                }
+            }
+            IError[] dense = new IError[max + 1];
+            Map<Integer, IError> sparse = new HashMap<>();
+            errors.forEach((code, error) -> {
+                if (code >= 0 && code < DENSE_LIMIT) {
+                    dense[code] = error;
+                } else {
+                    sparse.put(code, error);
+                }
+            });
+            return new Snapshot(dense, sparse);
+        }
+    }
+}
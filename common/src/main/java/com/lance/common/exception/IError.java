@@ -53,14 +53,24 @@ public interface IError {
     }
 
     /**
-     * 根据 message 模板格式化为新的错误信息
+     * 抛出 BusinessException 时是否省略异常堆栈，适用于参数校验、数据不存在等作为正常流程分支的错误
+     *
+     * @return
+     */
+    default boolean isStackless() {
+        return false;
+    }
+
+    /**
+     * 根据 message 模板格式化为新的错误信息，结果与 String.format 一致，模板解析结果按枚举常量缓存
      *
      * @param args
      * @return
      */
     default DynamicError format(Object... args) {
-        return Errors.error(this.getCode(), String.format(this.getMsg(), args))
-                .setHttpCode(getHttpCode()).setResponseBody(getResponseBody()).setCause(getCause());
+        return Errors.error(this.getCode(), MessageTemplate.of(this).format(args))
+                .setHttpCode(getHttpCode()).setResponseBody(getResponseBody()).setCause(getCause())
+                .setStackless(isStackless());
     }
 }
 
@@ -0,0 +1,93 @@
+package com.lance.common.exception;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的错误信息模板
+ * <p>
+ * 模板只解析一次，渲染时直接拼接字符串，结果与 String.format 一致。
+ * 仅支持 %s、%% 和 %n，包含其他格式说明符、参数不足或参数实现了 Formattable 时回退到 String.format。
+ * 枚举类型的错误按常量缓存解析结果，其余错误每次解析
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+final class MessageTemplate {
+
+    private static final Map<IError, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String template;
+    /**
+     * 占位符之间的文本片段，数量为占位符个数加一；为 null 表示模板需要回退到 String.format
+     */
+    private final String[] segments;
+
+    private MessageTemplate(String template, String[] segments) {
+        this.template = template;
+        this.segments = segments;
+    }
+
+    static MessageTemplate of(IError error) {
+        if (error instanceof Enum) {
+            return CACHE.computeIfAbsent(error, key -> parse(key.getMsg()));
+        }
+        return parse(error.getMsg());
+    }
+
+    static MessageTemplate parse(String template) {
+        if (template == null) {
+            return new MessageTemplate(null, null);
+        }
+        List<String> segments = new ArrayList<>();
+        StringBuilder segment = new StringBuilder(template.length());
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c != '%') {
+                segment.append(c);
+                continue;
+            }
+            char next = i + 1 < template.length() ? template.charAt(i + 1) : 0;
+            if (next == 's') {
+                segments.add(segment.toString());
+                segment.setLength(0);
+            } else if (next == '%') {
+                segment.append('%');
+            } else if (next == 'n') {
+                segment.append(System.lineSeparator());
+            } else {
+                return new MessageTemplate(template, null);
+            }
+            i++;
+        }
+        segments.add(segment.toString());
+        return new MessageTemplate(template, segments.toArray(new String[0]));
+    }
+
+    String format(Object... args) {
+        if (segments == null) {
+            return String.format(template, args);
+        }
+        int placeholders = segments.length - 1;
+        if (placeholders == 0) {
+            return segments[0];
+        }
+        if (args != null && args.length < placeholders) {
+            return String.format(template, args);
+        }
+        StringBuilder builder = new StringBuilder(template.length() + placeholders * 16);
+        builder.append(segments[0]);
+        for (int i = 0; i < placeholders; i++) {
+            Object arg = args == null ? null : args[i];
+            if (arg instanceof Formattable) {
+                return String.format(template, args);
+            }
+            builder.append(arg).append(segments[i + 1]);
+        }
+        return builder.toString();
+    }
+}
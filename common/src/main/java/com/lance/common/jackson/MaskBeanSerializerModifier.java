@@ -0,0 +1,34 @@
+package com.lance.common.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.lance.common.annotation.Mask;
+
+import java.util.List;
+
+/**
+ * 字段脱敏序列化修改器
+ * <p>
+ * Jackson 为每个类型构建一次 BeanSerializer 并缓存，构建时在此为标注了 {@link Mask} 的属性指定对应类型的脱敏序列化器，
+ * 因此每个类只解析一次注解，序列化时不再有反射开销
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class MaskBeanSerializerModifier extends BeanSerializerModifier {
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        for (BeanPropertyWriter writer : beanProperties) {
+            Mask mask = writer.getAnnotation(Mask.class);
+            if (mask != null) {
+                writer.assignSerializer(MaskSerializer.of(mask.type()));
+            }
+        }
+        return beanProperties;
+    }
+}
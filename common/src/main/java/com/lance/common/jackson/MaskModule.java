@@ -0,0 +1,21 @@
+package com.lance.common.jackson;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * 字段脱敏 Jackson 模块
+ * <p>
+ * 注册到 ObjectMapper 后，标注了 {@link com.lance.common.annotation.Mask} 的属性在序列化时自动脱敏；
+ * Spring Boot 应用中将其声明为 Bean 即可被自动注册
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class MaskModule extends SimpleModule {
+
+    public MaskModule() {
+        super(MaskModule.class.getSimpleName());
+        setSerializerModifier(new MaskBeanSerializerModifier());
+    }
+}
@@ -0,0 +1,64 @@
+package com.lance.common.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.lance.common.annotation.Mask;
+import com.lance.common.enums.MaskType;
+import com.lance.common.utils.MaskUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 脱敏序列化器
+ * <p>
+ * 将属性值按 {@link Mask#type()} 对应的规则脱敏到当前线程的字符缓冲区，
+ * 再直接写入 JsonGenerator，不产生中间字符串；每种类型共用一个实例
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class MaskSerializer extends StdSerializer<Object> {
+
+    private static final MaskSerializer[] INSTANCES = Arrays.stream(MaskType.values())
+            .map(MaskSerializer::new).toArray(MaskSerializer[]::new);
+
+    /**
+     * 线程缓冲区超过该长度后不再保留
+     */
+    private static final int MAX_RETAINED_BUFFER = 1024;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    private final MaskType type;
+
+    public MaskSerializer(MaskType type) {
+        super(Object.class);
+        this.type = type;
+    }
+
+    /**
+     * 指定类型的共享实例
+     */
+    public static MaskSerializer of(MaskType type) {
+        return INSTANCES[type.ordinal()];
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        CharSequence content = value instanceof CharSequence ? (CharSequence) value : value.toString();
+        int length = content.length();
+        if (length > MAX_RETAINED_BUFFER) {
+            gen.writeString(MaskUtil.mask(content.toString(), type));
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        gen.writeString(buffer, 0, MaskUtil.mask(content, type, buffer));
+    }
+}
@@ -0,0 +1,88 @@
+package com.lance.common.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.lance.common.model.StreamingPageResult;
+
+import java.io.IOException;
+
+/**
+ * 流式分页结果序列化器
+ * <p>
+ * 先写出 total、size、current、totalExact，再逐条遍历 records 写出，JsonGenerator 的缓冲区写满后自动刷到响应输出流，
+ * 内存占用只与单条记录大小有关；相邻记录类型相同时复用上一次查找到的序列化器。
+ * 写出结束或出错后关闭 {@link StreamingPageResult} 持有的资源
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class StreamingPageResultSerializer extends StdSerializer<StreamingPageResult<?>> {
+
+    @SuppressWarnings("unchecked")
+    public StreamingPageResultSerializer() {
+        super((Class<StreamingPageResult<?>>) (Class<?>) StreamingPageResult.class);
+    }
+
+    @Override
+    public void serialize(StreamingPageResult<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean completed = false;
+        try {
+            gen.writeStartObject(value);
+            gen.writeNumberField("total", value.getTotal());
+            gen.writeNumberField("size", value.getSize());
+            gen.writeNumberField("current", value.getCurrent());
+            gen.writeBooleanField("totalExact", value.isTotalExact());
+            gen.writeFieldName("records");
+            writeRecords(value.getRecords(), gen, provider);
+            gen.writeEndObject();
+            completed = true;
+        } finally {
+            close(value, completed);
+        }
+    }
+
+    private static void writeRecords(Iterable<?> records, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (records == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        Class<?> lastType = null;
+        JsonSerializer<Object> serializer = null;
+        for (Object record : records) {
+            if (record == null) {
+                provider.defaultSerializeNull(gen);
+                continue;
+            }
+            if (record.getClass() != lastType) {
+                lastType = record.getClass();
+                serializer = provider.findTypedValueSerializer(lastType, true, null);
+            }
+            serializer.serialize(record, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * 写出失败时忽略关闭异常，避免覆盖原始异常
+     */
+    private static void close(StreamingPageResult<?> value, boolean completed) throws IOException {
+        try {
+            value.close();
+        } catch (Exception e) {
+            if (!completed) {
+                return;
+            }
+            if (e instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e);
+        }
+    }
+}
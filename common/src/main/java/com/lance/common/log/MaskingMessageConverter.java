@@ -0,0 +1,104 @@
+package com.lance.common.log;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.lance.common.utils.MaskUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logback 日志脱敏转换器
+ * <p>
+ * 对格式化后的日志消息应用 {@link MaskUtil#desensitize(String)} 内置规则，使用方式：
+ * <pre>
+ * &lt;conversionRule conversionWord="maskedMsg" converterClass="com.lance.common.log.MaskingMessageConverter"/&gt;
+ * &lt;pattern&gt;%d %-5level %logger - %maskedMsg{com.lance, !com.lance.common.audit}%n&lt;/pattern&gt;
+ * </pre>
+ * 选项为 logger 名称前缀：不带前缀表示需要脱敏，以 '!' 开头表示不脱敏，匹配时取最长前缀；
+ * 未配置任何选项时对所有 logger 脱敏，只配置了排除项时其余 logger 也会脱敏。
+ * </p>
+ * <p>
+ * 转换器在启动后只读，可以安全地用于 AsyncAppender 的工作线程；
+ * 不含敏感信息的消息直接返回原字符串，需要脱敏时复用当前线程的缓冲区拼接结果
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class MaskingMessageConverter extends MessageConverter {
+
+    /**
+     * 线程缓冲区超过该长度后不再保留，避免个别超长日志长期占用内存
+     */
+    private static final int MAX_RETAINED_BUFFER = 8192;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> excludes = new ArrayList<>();
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    @Override
+    public void start() {
+        List<String> options = getOptionList();
+        if (options != null) {
+            for (String option : options) {
+                String prefix = option.trim();
+                if (prefix.startsWith("!")) {
+                    excludes.add(prefix.substring(1).trim());
+                } else if (!prefix.isEmpty()) {
+                    includes.add(prefix);
+                }
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        String message = event.getFormattedMessage();
+        if (message == null || !isEnabled(event.getLoggerName())) {
+            return message;
+        }
+        StringBuilder buffer = BUFFER.get();
+        String masked = MaskUtil.desensitize(message, buffer);
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return masked;
+    }
+
+    private boolean isEnabled(String loggerName) {
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return true;
+        }
+        Boolean enabled = decisions.get(loggerName);
+        if (enabled == null) {
+            enabled = decide(loggerName);
+            decisions.put(loggerName, enabled);
+        }
+        return enabled;
+    }
+
+    private boolean decide(String loggerName) {
+        int include = longestPrefix(includes, loggerName);
+        int exclude = longestPrefix(excludes, loggerName);
+        if (include < 0 && exclude < 0) {
+            return includes.isEmpty();
+        }
+        return include > exclude;
+    }
+
+    private static int longestPrefix(List<String> prefixes, String loggerName) {
+        int longest = -1;
+        for (String prefix : prefixes) {
+            if (loggerName.startsWith(prefix) && prefix.length() > longest) {
+                longest = prefix.length();
+            }
+        }
+        return longest;
+    }
+}
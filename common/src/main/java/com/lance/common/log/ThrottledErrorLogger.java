@@ -0,0 +1,206 @@
+package com.lance.common.log;
+
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.IError;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 限流错误日志记录器
+ * <p>
+ * 按错误码和异常类型分组，采用固定窗口：分组首次出现时开始计时，窗口到期后开启新窗口。
+ * 每个窗口内只完整记录前 N 次，超出部分只计数，窗口结束后输出一条汇总日志，
+ * 避免下游故障时每个请求都打印完整堆栈，日志开销超过业务本身。
+ * 分组不依赖异常堆栈，被省略的日志只有两次 Map 查询和计数，不会生成堆栈也不分配对象；
+ * 窗口切换和计数均基于 CAS，不加锁
+ * </p>
+ * <p>
+ * 任意分组记录日志时，每个窗口长度最多检查一次所有分组：输出已结束窗口的汇总，并移除整个窗口内没有省略日志的分组，
+ * 因此某类错误停止出现后其汇总仍会输出，分组数量也不会无限增长。
+ * 长时间没有任何错误时可以定时调用 {@link #flush()} 输出汇总
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class ThrottledErrorLogger {
+
+    private final Logger logger;
+    private final int maxFullLogs;
+    private final long windowNanos;
+    private final Map<Class<?>, Group> groups = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param logger      实际输出日志的 Logger
+     * @param maxFullLogs 每个窗口内完整记录的次数
+     * @param window      固定窗口长度
+     * @param unit        窗口长度单位
+     */
+    public ThrottledErrorLogger(Logger logger, int maxFullLogs, long window, TimeUnit unit) {
+        this.logger = logger;
+        this.maxFullLogs = maxFullLogs;
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    /**
+     * 记录业务异常
+     *
+     * @return 本次是否完整输出了日志
+     */
+    public boolean log(BusinessException e) {
+        return log(e.getError(), e.getMessage(), e);
+    }
+
+    /**
+     * 记录错误
+     *
+     * @param error   错误信息，用于分组
+     * @param message 日志内容
+     * @param t       异常，可为 null
+     * @return 本次是否完整输出了日志
+     */
+    public boolean log(IError error, String message, Throwable t) {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last >= windowNanos && lastSweep.compareAndSet(last, now)) {
+            sweep(now);
+        }
+        Integer code = error == null ? null : error.getCode();
+        Class<?> type = t == null ? Void.class : t.getClass();
+        Group group = groups.get(type);
+        if (group == null) {
+            group = groups.computeIfAbsent(type, Group::new);
+        }
+        Epoch epoch = current(group.window(code), now);
+        if (epoch.count.incrementAndGet() <= maxFullLogs) {
+            logger.error("[{}] {}", code, message, t);
+            return true;
+        }
+        epoch.suppressed.increment();
+        return false;
+    }
+
+    /**
+     * 输出所有已结束窗口的汇总，并移除空闲的分组
+     */
+    public void flush() {
+        long now = System.nanoTime();
+        lastSweep.set(now);
+        sweep(now);
+    }
+
+    private void sweep(long now) {
+        groups.forEach((type, group) -> {
+            group.byCode.forEach((code, window) -> {
+                if (expire(window, now)) {
+                    group.byCode.remove(code, window);
+                }
+            });
+            Window noCode = group.noCode;
+            if (noCode != null && expire(noCode, now)) {
+                group.noCode = null;
+            }
+            if (group.byCode.isEmpty() && group.noCode == null) {
+                groups.remove(type, group);
+            }
+        });
+    }
+
+    /**
+     * 窗口已结束时输出汇总并开启新窗口
+     *
+     * @return 窗口已结束且没有省略的日志，可以移除
+     */
+    private boolean expire(Window window, long now) {
+        Epoch epoch = window.epoch.get();
+        if (now - epoch.start < windowNanos) {
+            return false;
+        }
+        if (epoch.suppressed.sum() == 0) {
+            return true;
+        }
+        current(window, now);
+        return false;
+    }
+
+    /**
+     * 当前窗口，到期时以 CAS 替换为新窗口，替换成功的线程输出上一个窗口的汇总。
+     * 每个窗口的计数随窗口一起创建，不会被其他线程重置
+     */
+    private Epoch current(Window window, long now) {
+        Epoch epoch = window.epoch.get();
+        if (now - epoch.start < windowNanos) {
+            return epoch;
+        }
+        Epoch next = new Epoch(now);
+        if (!window.epoch.compareAndSet(epoch, next)) {
+            return window.epoch.get();
+        }
+        long suppressed = epoch.suppressed.sum();
+        if (suppressed > 0) {
+            logger.error("错误 [{}] {} 在过去 {} ms 内重复出现，已省略 {} 条日志", window.code,
+                    window.type == Void.class ? "-" : window.type.getName(), TimeUnit.NANOSECONDS.toMillis(now - epoch.start), suppressed);
+        }
+        return next;
+    }
+
+    /**
+     * 同一异常类型下按错误码划分的窗口，没有错误码的单独一个窗口
+     */
+    private static final class Group {
+        private final Class<?> type;
+        private final Map<Integer, Window> byCode = new ConcurrentHashMap<>();
+        private volatile Window noCode;
+
+        private Group(Class<?> type) {
+            this.type = type;
+        }
+
+        private Window window(Integer code) {
+            if (code == null) {
+                Window window = noCode;
+                if (window == null) {
+                    synchronized (this) {
+                        window = noCode;
+                        if (window == null) {
+                            window = new Window(null, type);
+                            noCode = window;
+                        }
+                    }
+                }
+                return window;
+            }
+            Window window = byCode.get(code);
+            return window != null ? window : byCode.computeIfAbsent(code, k -> new Window(k, type));
+        }
+    }
+
+    private static final class Window {
+        private final Integer code;
+        private final Class<?> type;
+        private final AtomicReference<Epoch> epoch = new AtomicReference<>(new Epoch(System.nanoTime()));
+
+        private Window(Integer code, Class<?> type) {
+            this.code = code;
+            this.type = type;
+        }
+    }
+
+    private static final class Epoch {
+        private final long start;
+        private final AtomicInteger count = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+
+        private Epoch(long start) {
+            this.start = start;
+        }
+    }
+}
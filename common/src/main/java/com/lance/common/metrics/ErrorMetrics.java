@@ -0,0 +1,172 @@
+package com.lance.common.metrics;
+
+import com.lance.common.exception.ErrorCodeRegistry;
+import com.lance.common.exception.IError;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 错误码计数器
+ * <p>
+ * 按错误码、HTTP 状态码和来源统计业务错误次数，来源分为两类：
+ * - exception：创建或复用 BusinessException
+ * - result：通过 ApiResult.fail(...) 返回错误结果
+ * 计数基于 LongAdder，记录路径无锁且不分配对象；首次出现的组合会通知已注册的监听器（如 {@link ErrorMetricsBinder}）。
+ * 最多统计 business.errors.max-codes（默认 {@value #DEFAULT_MAX_CODES}）个错误码，超出后的错误码合并计入 code 为 null 的计数器，
+ * 避免任意错误码产生无限多的指标序列
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public final class ErrorMetrics {
+
+    public static final String SOURCE_EXCEPTION = "exception";
+    public static final String SOURCE_RESULT = "result";
+
+    /**
+     * 无法确定 HTTP 状态码时记录的状态值，发布为 status=unknown
+     */
+    public static final int UNKNOWN_STATUS = 0;
+
+    /**
+     * 默认最多统计的错误码个数，可通过系统属性 business.errors.max-codes 调整
+     */
+    static final int DEFAULT_MAX_CODES = 1000;
+
+    static volatile int maxCodes = Integer.getInteger("business.errors.max-codes", DEFAULT_MAX_CODES);
+
+    private static final Map<Integer, CodeCounters> CODES = new ConcurrentHashMap<>();
+    private static final CodeCounters OTHER = new CodeCounters(null);
+    private static final List<ErrorCounter> COUNTERS = new CopyOnWriteArrayList<>();
+    private static final List<Consumer<ErrorCounter>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private ErrorMetrics() {
+    }
+
+    /**
+     * 记录一次业务异常
+     */
+    public static void recordException(IError error) {
+        record(error.getCode(), error.getHttpCode(), SOURCE_EXCEPTION);
+    }
+
+    /**
+     * 记录一次错误结果
+     */
+    public static void recordResult(Integer code, int httpStatus) {
+        record(code, httpStatus, SOURCE_RESULT);
+    }
+
+    /**
+     * 记录一次只有错误码的错误结果，HTTP 状态码取 {@link ErrorCodeRegistry} 中注册的错误，未注册时记为 {@link #UNKNOWN_STATUS}
+     */
+    public static void recordResult(Integer code) {
+        IError error = code == null ? null : ErrorCodeRegistry.resolve(code);
+        record(code, error != null ? error.getHttpCode() : UNKNOWN_STATUS, SOURCE_RESULT);
+    }
+
+    /**
+     * 已出现过的组合只有一次 Map 查询和一次数组扫描，不分配对象
+     */
+    private static void record(Integer code, int httpStatus, String source) {
+        CodeCounters codeCounters = code == null ? OTHER : CODES.get(code);
+        if (codeCounters == null) {
+            codeCounters = CODES.size() < maxCodes ? CODES.computeIfAbsent(code, CodeCounters::new) : OTHER;
+        }
+        codeCounters.counter(httpStatus, source).count.increment();
+    }
+
+    /**
+     * 当前所有计数器
+     */
+    public static Collection<ErrorCounter> counters() {
+        return Collections.unmodifiableCollection(COUNTERS);
+    }
+
+    /**
+     * 注册监听器，已存在的计数器会立即回调，之后每出现一个新的计数器回调一次；并发时同一计数器可能被回调多次，监听器需保证幂等
+     */
+    public static void addListener(Consumer<ErrorCounter> listener) {
+        LISTENERS.add(listener);
+        COUNTERS.forEach(listener);
+    }
+
+    /**
+     * 同一错误码下按 HTTP 状态码和来源划分的计数器，通常只有一两个，使用写时复制数组线性查找
+     */
+    private static final class CodeCounters {
+        private final Integer code;
+        private volatile ErrorCounter[] counters = new ErrorCounter[0];
+
+        private CodeCounters(Integer code) {
+            this.code = code;
+        }
+
+        private ErrorCounter counter(int httpStatus, String source) {
+            for (ErrorCounter counter : counters) {
+                if (counter.httpStatus == httpStatus && counter.source.equals(source)) {
+                    return counter;
+                }
+            }
+            ErrorCounter created;
+            synchronized (this) {
+                for (ErrorCounter counter : counters) {
+                    if (counter.httpStatus == httpStatus && counter.source.equals(source)) {
+                        return counter;
+                    }
+                }
+                created = new ErrorCounter(code, httpStatus, source);
+                ErrorCounter[] extended = Arrays.copyOf(counters, counters.length + 1);
+                extended[counters.length] = created;
+                counters = extended;
+            }
+            COUNTERS.add(created);
+            LISTENERS.forEach(listener -> listener.accept(created));
+            return created;
+        }
+    }
+
+    /**
+     * 单个错误码、HTTP 状态码和来源组合的计数器，code 为 null 表示超出错误码个数上限或没有错误码的错误
+     */
+    public static final class ErrorCounter {
+        private final Integer code;
+        private final int httpStatus;
+        private final String source;
+        private final LongAdder count = new LongAdder();
+
+        private ErrorCounter(Integer code, int httpStatus, String source) {
+            this.code = code;
+            this.httpStatus = httpStatus;
+            this.source = source;
+        }
+
+        public Integer getCode() {
+            return code;
+        }
+
+        /**
+         * HTTP 状态码，无法确定时为 {@link #UNKNOWN_STATUS}
+         */
+        public int getHttpStatus() {
+            return httpStatus;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+    }
+}
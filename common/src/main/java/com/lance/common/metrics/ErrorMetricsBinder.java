@@ -0,0 +1,32 @@
+package com.lance.common.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 错误码指标 Micrometer 绑定器
+ * <p>
+ * 将 {@link ErrorMetrics} 的计数器发布为 business.errors 指标，标签为 code、status 和 source，
+ * 新出现的错误码会自动注册，超出错误码个数上限的错误 code 标签为 other，无法确定 HTTP 状态码的错误 status 标签为 unknown；在 Spring Boot 中声明为 Bean 后可通过 actuator 的 metrics 端点查看
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class ErrorMetricsBinder implements MeterBinder {
+
+    public static final String METRIC_NAME = "business.errors";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ErrorMetrics.addListener(counter -> FunctionCounter
+                .builder(METRIC_NAME, counter, ErrorMetrics.ErrorCounter::getCount)
+                .description("业务错误次数")
+                .tag("code", counter.getCode() == null ? "other" : counter.getCode().toString())
+                .tag("status", counter.getHttpStatus() == ErrorMetrics.UNKNOWN_STATUS
+                        ? "unknown" : String.valueOf(counter.getHttpStatus()))
+                .tag("source", counter.getSource())
+                .register(registry));
+    }
+}
@@ -0,0 +1,51 @@
+package com.lance.common.metrics;
+
+import com.lance.common.utils.MaskRuleRegistry;
+import com.lance.common.utils.MaskUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 脱敏规则缓存 Micrometer 绑定器
+ * <p>
+ * 将 {@link MaskRuleRegistry} 临时规则缓存的统计发布为 mask.rule.cache.gets（result=hit/miss）、
+ * mask.rule.cache.evictions 和 mask.rule.cache.size 指标；默认绑定 {@link MaskUtil#rules()}
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class MaskMetricsBinder implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "mask.rule.cache";
+
+    private final MaskRuleRegistry registry;
+
+    public MaskMetricsBinder() {
+        this(MaskUtil.rules());
+    }
+
+    public MaskMetricsBinder(MaskRuleRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", registry, MaskRuleRegistry::getHitCount)
+                .description("脱敏规则缓存命中次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", registry, MaskRuleRegistry::getMissCount)
+                .description("脱敏规则缓存未命中次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", registry, MaskRuleRegistry::getEvictionCount)
+                .description("脱敏规则缓存淘汰次数")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", registry, MaskRuleRegistry::getCacheSize)
+                .description("脱敏规则缓存条目数")
+                .register(meterRegistry);
+    }
+}
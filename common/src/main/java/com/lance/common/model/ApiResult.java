@@ -2,18 +2,23 @@ package com.lance.common.model;
 
 import com.lance.common.enums.CodeEnum;
 import com.lance.common.exception.IError;
+import com.lance.common.metrics.ErrorMetrics;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * API统一响应结果封装类
  * <p>
  * 提供统一的API响应格式，包含状态码、消息和数据
- * 支持链式调用和泛型数据封装
+ * 支持链式调用和泛型数据封装，fail 系列方法会按错误码计入 {@link ErrorMetrics}，只传错误码时按注册的错误确定 HTTP 状态码
+ * success() 和 fail(IError) 每次返回新实例，可以继续链式设置；不需要修改结果时可以使用
+ * {@link #constantSuccess()} 和 {@link #constantFail(IError)} 返回的共享 {@link ConstantApiResult}，Web 层直接写出其缓存的 JSON 字节
  * </p>
  *
  * @author xiaolong.shu
@@ -25,6 +30,9 @@ import java.io.Serializable;
 @Accessors(chain = true)
 public class ApiResult<T> implements Serializable {
 
+    private static final ApiResult<?> SUCCESS = new ConstantApiResult<>(CodeEnum.SUCCESS.getCode(), CodeEnum.SUCCESS.getDesc());
+    private static final Map<IError, ApiResult<?>> CONSTANT_FAILURES = new ConcurrentHashMap<>();
+
     private Integer code;
     private String msg;
     private T data;
@@ -33,6 +41,14 @@ public class ApiResult<T> implements Serializable {
         return new ApiResult<>(CodeEnum.SUCCESS.getCode(), CodeEnum.SUCCESS.getDesc(), null);
     }
 
+    /**
+     * 空的成功结果，返回共享的不可变实例，调用 setter 会抛出 UnsupportedOperationException
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ApiResult<T> constantSuccess() {
+        return (ApiResult<T>) SUCCESS;
+    }
+
     public static <T> ApiResult<T> success(T data) {
         return new ApiResult<>(CodeEnum.SUCCESS.getCode(), CodeEnum.SUCCESS.getDesc(), data);
     }
@@ -46,22 +62,41 @@ public class ApiResult<T> implements Serializable {
     }
 
     public static <T> ApiResult<T> fail() {
+        ErrorMetrics.recordResult(CodeEnum.ERROR.getCode());
         return new ApiResult<>(CodeEnum.ERROR.getCode(), CodeEnum.ERROR.getDesc(), null);
     }
 
     public static <T> ApiResult<T> fail(String msg) {
+        ErrorMetrics.recordResult(CodeEnum.ERROR.getCode());
         return new ApiResult<>(CodeEnum.ERROR.getCode(), msg, null);
     }
 
     public static <T> ApiResult<T> fail(Integer code, String msg) {
+        ErrorMetrics.recordResult(code);
         return new ApiResult<>(code, msg, null);
     }
 
     public static <T> ApiResult<T> fail(Integer code, String msg, T data) {
+        ErrorMetrics.recordResult(code);
         return new ApiResult<>(code, msg, data);
     }
 
     public static <T> ApiResult<T> fail(IError error) {
+        ErrorMetrics.recordResult(error.getCode(), error.getHttpCode());
+        return new ApiResult<>(error.getCode(), error.getMsg(), null);
+    }
+
+    /**
+     * 错误结果，枚举类型的错误返回按常量缓存的不可变实例，调用 setter 会抛出 UnsupportedOperationException；
+     * 其他错误返回新实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ApiResult<T> constantFail(IError error) {
+        ErrorMetrics.recordResult(error.getCode(), error.getHttpCode());
+        if (error instanceof Enum) {
+            return (ApiResult<T>) CONSTANT_FAILURES.computeIfAbsent(error,
+                    key -> new ConstantApiResult<>(key.getCode(), key.getMsg()));
+        }
         return new ApiResult<>(error.getCode(), error.getMsg(), null);
     }
 
@@ -0,0 +1,33 @@
+package com.lance.common.model;
+
+/**
+ * 不可变的常量响应结果
+ * <p>
+ * 由 {@link ApiResult#constantSuccess()} 和 {@link ApiResult#constantFail(com.lance.common.exception.IError)}（枚举错误）返回的共享实例，
+ * 内容固定且 data 为 null，Web 层可以缓存其序列化结果直接写出；调用任何 setter 都会抛出 UnsupportedOperationException
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public final class ConstantApiResult<T> extends ApiResult<T> {
+
+    ConstantApiResult(Integer code, String msg) {
+        super(code, msg, null);
+    }
+
+    @Override
+    public ApiResult<T> setCode(Integer code) {
+        throw new UnsupportedOperationException("ConstantApiResult is immutable");
+    }
+
+    @Override
+    public ApiResult<T> setMsg(String msg) {
+        throw new UnsupportedOperationException("ConstantApiResult is immutable");
+    }
+
+    @Override
+    public ApiResult<T> setData(T data) {
+        throw new UnsupportedOperationException("ConstantApiResult is immutable");
+    }
+}
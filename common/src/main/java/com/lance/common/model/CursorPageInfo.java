@@ -0,0 +1,23 @@
+package com.lance.common.model;
+
+import lombok.Data;
+
+/**
+ * 游标分页信息类
+ * <p>
+ * 用于封装游标（keyset）分页的请求参数，包含每页大小和上一页返回的游标。
+ * 与 {@link PageInfo} 的 LIMIT offset 方式不同，每一页都从游标位置开始读取，翻到多深的页耗时都相同；
+ * 游标为空表示查询第一页
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+@Data
+public class CursorPageInfo {
+    private long size;
+    /**
+     * 上一页返回的 {@link CursorPageResult#getNextCursor()}，对调用方不透明
+     */
+    private String cursor;
+}
@@ -0,0 +1,34 @@
+package com.lance.common.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页查询结果封装类
+ * <p>
+ * 用于封装游标分页的结果数据，不统计总数；nextCursor 用于请求下一页，没有更多数据时为 null
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+@Data
+public class CursorPageResult<T> {
+    /**
+     * 分页查询结果
+     */
+    private List<T> records;
+    /**
+     * 分页查询每页数据条数
+     */
+    private long size;
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasNext;
+}
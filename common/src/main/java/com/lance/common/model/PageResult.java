@@ -32,5 +32,9 @@ public class PageResult<T> {
      * 分页查询当前页码，从1开始
      */
     private long current;
+    /**
+     * total 是否为精确值，跳过统计、使用缓存或预估行数时为 false
+     */
+    private boolean totalExact = true;
 }
 
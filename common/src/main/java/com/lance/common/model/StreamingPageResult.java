@@ -0,0 +1,117 @@
+package com.lance.common.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.lance.common.jackson.StreamingPageResultSerializer;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 流式分页查询结果封装类
+ * <p>
+ * 与 {@link PageResult} 输出相同的 JSON 结构，但 records 只是一个 Iterable（如 MyBatis 的 Cursor），
+ * 序列化时逐条读取、逐条写入响应，不在内存中保留整页数据，适用于导出等大分页场景。
+ * records 只能遍历一次；写出结束（包括出错）后会关闭实现了 AutoCloseable 的 records 以及通过 {@link #onClose(AutoCloseable)} 登记的资源。
+ * </p>
+ * <p>
+ * 使用 MyBatis Cursor 时，Controller 返回后事务已结束，需要自行打开 SqlSession 并登记关闭：
+ * <pre>
+ * SqlSession session = sqlSessionFactory.openSession();
+ * Cursor&lt;User&gt; cursor = session.getMapper(UserMapper.class).scanAll();
+ * return ApiResult.success(StreamingPageResult.of(cursor, total, size, current).onClose(session));
+ * </pre>
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+@Getter
+@JsonSerialize(using = StreamingPageResultSerializer.class)
+public class StreamingPageResult<T> implements AutoCloseable {
+    /**
+     * 分页查询结果，只能遍历一次
+     */
+    private final Iterable<T> records;
+    /**
+     * 分页查询结果总数
+     */
+    private final long total;
+    /**
+     * 分页查询每页数据条数
+     */
+    private final long size;
+    /**
+     * 分页查询当前页码，从1开始
+     */
+    private final long current;
+    /**
+     * total 是否为精确值，跳过统计、使用缓存或预估行数时为 false
+     */
+    private boolean totalExact = true;
+
+    @Getter(AccessLevel.NONE)
+    private final List<AutoCloseable> resources = new ArrayList<>(1);
+
+    private StreamingPageResult(Iterable<T> records, long total, long size, long current) {
+        this.records = records;
+        this.total = total;
+        this.size = size;
+        this.current = current;
+    }
+
+    public static <T> StreamingPageResult<T> of(Iterable<T> records, long total, long size, long current) {
+        return new StreamingPageResult<>(records, total, size, current);
+    }
+
+    public static <T> StreamingPageResult<T> of(Iterator<T> records, long total, long size, long current) {
+        return new StreamingPageResult<>(() -> records, total, size, current);
+    }
+
+    /**
+     * 标识 total 是否为精确值
+     */
+    public StreamingPageResult<T> totalExact(boolean totalExact) {
+        this.totalExact = totalExact;
+        return this;
+    }
+
+    /**
+     * 登记写出结束后需要关闭的资源，按登记顺序关闭
+     */
+    public StreamingPageResult<T> onClose(AutoCloseable resource) {
+        resources.add(resource);
+        return this;
+    }
+
+    /**
+     * 关闭 records 和已登记的资源，全部关闭后再抛出第一个异常
+     */
+    @Override
+    public void close() throws Exception {
+        Exception failure = null;
+        if (records instanceof AutoCloseable closeable) {
+            failure = closeQuietly(closeable, null);
+        }
+        for (AutoCloseable resource : resources) {
+            failure = closeQuietly(resource, failure);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static Exception closeQuietly(AutoCloseable closeable, Exception failure) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            if (failure == null) {
+                return e;
+            }
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+}
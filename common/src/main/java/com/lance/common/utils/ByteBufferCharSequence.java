@@ -0,0 +1,51 @@
+package com.lance.common.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 以字符方式只读访问 ByteBuffer 的视图
+ * <p>
+ * 每个字节按无符号值映射为一个字符，不做解码。内置脱敏规则只识别 ASCII 字符，
+ * 而 UTF-8 多字节字符的每个字节都不小于 0x80，映射后同样被视为非单词字符，
+ * 因此在 UTF-8 字节上扫描与在解码后的字符串上扫描结果一致
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+final class ByteBufferCharSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    ByteBufferCharSequence(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new ByteBufferCharSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(charAt(i));
+        }
+        return builder.toString();
+    }
+}
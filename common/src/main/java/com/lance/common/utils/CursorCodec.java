@@ -0,0 +1,189 @@
+package com.lance.common.utils;
+
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.Errors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 分页游标编解码工具类
+ * <p>
+ * 将排序键的值编码为 URL 安全的 Base64 字符串，解码后还原为原始类型。
+ * 每个值编码为 类型标记 + 长度 + ':' + 内容，无需转义；
+ * 支持 null、Long、Integer、String、BigDecimal、LocalDateTime、LocalDate、Date。
+ * 游标末尾附带内容的 HMAC-SHA256 签名，格式错误或内容被修改的游标都会抛出参数错误
+ * </p>
+ * <p>
+ * 签名密钥取系统属性 {@value #SECRET_PROPERTY}，也可以通过 {@link #setSecret(String)} 设置（mybatis 模块从 Spring 配置读取）；
+ * 未配置密钥时编解码直接抛出 IllegalStateException，不使用随机密钥，避免重启或多实例部署后客户端持有的游标全部失效。
+ * 多实例部署需要各实例配置相同的密钥
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public final class CursorCodec {
+
+    static final String SECRET_PROPERTY = "pagination.cursor.secret";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final ThreadLocal<SignerHolder> SIGNER = new ThreadLocal<>();
+
+    static volatile SecretKeySpec key = initKey();
+
+    private CursorCodec() {
+    }
+
+    /**
+     * 设置游标签名密钥，修改后之前签发的游标全部失效
+     *
+     * @param secret 密钥，不能为空
+     */
+    public static void setSecret(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("游标签名密钥不能为空");
+        }
+        key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param values 排序键的值，按排序列顺序
+     * @return URL 安全的游标字符串
+     */
+    public static String encode(Object... values) {
+        requireKey();
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            char type = typeOf(value);
+            String text = value == null ? "" : value instanceof Date date ? String.valueOf(date.getTime()) : value.toString();
+            sb.append(type).append(text.length()).append(':').append(text);
+        }
+        byte[] payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + '.' + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标字符串
+     * @return 排序键的值，按排序列顺序
+     */
+    public static Object[] decode(String cursor) {
+        requireKey();
+        try {
+            int dot = cursor.lastIndexOf('.');
+            byte[] payload = Base64.getUrlDecoder().decode(cursor.substring(0, dot));
+            if (!MessageDigest.isEqual(sign(payload), Base64.getUrlDecoder().decode(cursor.substring(dot + 1)))) {
+                throw new IllegalArgumentException("游标签名不匹配");
+            }
+            String text = new String(payload, StandardCharsets.UTF_8);
+            List<Object> values = new ArrayList<>(2);
+            int pos = 0;
+            while (pos < text.length()) {
+                char type = text.charAt(pos);
+                int colon = text.indexOf(':', pos + 1);
+                int length = Integer.parseInt(text, pos + 1, colon, 10);
+                int end = colon + 1 + length;
+                values.add(parse(type, text.substring(colon + 1, end)));
+                pos = end;
+            }
+            return values.toArray();
+        } catch (RuntimeException e) {
+            throw new BusinessException(Errors.ILLEGAL_ARGUMENT_EXCEPTION.getCode(), "非法的分页游标: " + cursor);
+        }
+    }
+
+    private static void requireKey() {
+        if (key == null) {
+            throw new IllegalStateException("未配置分页游标签名密钥 " + SECRET_PROPERTY);
+        }
+    }
+
+    /**
+     * 每个线程复用一个 Mac，密钥变更后重新初始化
+     */
+    private static byte[] sign(byte[] payload) {
+        SecretKeySpec current = key;
+        SignerHolder holder = SIGNER.get();
+        if (holder == null || holder.key != current) {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(current);
+                holder = new SignerHolder(current, mac);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("游标签名失败", e);
+            }
+            SIGNER.set(holder);
+        }
+        return Arrays.copyOf(holder.mac.doFinal(payload), SIGNATURE_LENGTH);
+    }
+
+    private static SecretKeySpec initKey() {
+        String secret = System.getProperty(SECRET_PROPERTY);
+        return secret == null || secret.isEmpty() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    private record SignerHolder(SecretKeySpec key, Mac mac) {
+    }
+
+    private static char typeOf(Object value) {
+        if (value == null) {
+            return 'N';
+        } else if (value instanceof Long) {
+            return 'L';
+        } else if (value instanceof Integer) {
+            return 'I';
+        } else if (value instanceof String) {
+            return 'S';
+        } else if (value instanceof BigDecimal) {
+            return 'B';
+        } else if (value instanceof LocalDateTime) {
+            return 'T';
+        } else if (value instanceof LocalDate) {
+            return 'D';
+        } else if (value instanceof Date) {
+            return 'U';
+        }
+        throw new IllegalArgumentException("不支持的游标类型: " + value.getClass().getName());
+    }
+
+    private static Object parse(char type, String text) {
+        switch (type) {
+            case 'N':
+                return null;
+            case 'L':
+                return Long.valueOf(text);
+            case 'I':
+                return Integer.valueOf(text);
+            case 'S':
+                return text;
+            case 'B':
+                return new BigDecimal(text);
+            case 'T':
+                return LocalDateTime.parse(text);
+            case 'D':
+                return LocalDate.parse(text);
+            case 'U':
+                return new Date(Long.parseLong(text));
+            default:
+                throw new IllegalArgumentException("未知的游标类型: " + type);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.lance.common.utils;
+
+/**
+ * 敏感信息单次扫描匹配器
+ * <p>
+ * 从左到右一次性扫描输入，同时识别以下敏感信息，识别规则与 MaskUtil 原有正则保持一致：
+ * - 手机号：1 开头的 11 位数字，前后不紧邻单词字符或 '*'
+ * - 18 位身份证号：17 位数字（含出生日期校验）加一位数字或 xXyY
+ * - 15 位身份证号：15 位数字（含出生日期校验），前后不紧邻单词字符或 '*'
+ * - 邮箱地址：\w[.\w]+@\w[.\w]+
+ * 多条规则重叠时取最靠左的匹配；用法与 {@link java.util.regex.Matcher} 类似，扫描过程不创建任何对象
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+final class MaskMatcher {
+
+    private CharSequence text;
+    private int from;
+    private int to;
+    private int cursor;
+    /**
+     * 当前所在 [.\w] 连续片段的结束位置，片段内尚未扫描完的数字串从 cursor 开始继续查找
+     */
+    private int runEnd;
+    private int matchStart;
+    private int matchEnd;
+
+    MaskMatcher(CharSequence text) {
+        reset(text, 0, text.length());
+    }
+
+    /**
+     * 重置扫描区间，区间之外的字符视为不存在
+     */
+    MaskMatcher reset(CharSequence text, int from, int to) {
+        this.text = text;
+        this.from = from;
+        this.to = to;
+        this.cursor = from;
+        this.runEnd = from;
+        this.matchStart = -1;
+        this.matchEnd = -1;
+        return this;
+    }
+
+    int start() {
+        return matchStart;
+    }
+
+    int end() {
+        return matchEnd;
+    }
+
+    /**
+     * 查找下一处敏感信息
+     *
+     * @return 找到时返回 true，可通过 {@link #start()}/{@link #end()} 获取匹配区间
+     */
+    boolean find() {
+        while (cursor < to) {
+            if (cursor < runEnd) {
+                if (findDigits()) {
+                    return true;
+                }
+                cursor = runEnd;
+                continue;
+            }
+            if (!isWordOrDot(text.charAt(cursor))) {
+                cursor++;
+                continue;
+            }
+            int runStart = cursor;
+            int atIndex = scanRun(runStart + 1);
+            if (atIndex < to && text.charAt(atIndex) == '@' && findEmail(runStart, atIndex)) {
+                return true;
+            }
+            runEnd = atIndex;
+        }
+        return false;
+    }
+
+    /**
+     * 邮箱：本地部分取片段内第一个单词字符起、至少两个字符；域名部分为 \w 开头、至少两个字符
+     */
+    private boolean findEmail(int runStart, int atIndex) {
+        int localStart = -1;
+        for (int i = runStart; i <= atIndex - 2; i++) {
+            if (isWord(text.charAt(i))) {
+                localStart = i;
+                break;
+            }
+        }
+        if (localStart < 0 || atIndex + 2 >= to
+                || !isWord(text.charAt(atIndex + 1)) || !isWordOrDot(text.charAt(atIndex + 2))) {
+            return false;
+        }
+        int domainEnd = scanRun(atIndex + 3);
+        return matched(localStart, domainEnd);
+    }
+
+    /**
+     * 在当前 [.\w] 片段内查找身份证号和手机号
+     */
+    private boolean findDigits() {
+        int i = cursor;
+        while (i < runEnd) {
+            if (!isDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            int end = start + 1;
+            while (end < runEnd && isDigit(text.charAt(end))) {
+                end++;
+            }
+            int length = end - start;
+            if (length >= 17) {
+                for (int p = start; p + 17 <= end; p++) {
+                    if (isIdCard18(p, end)) {
+                        return matched(p, p + 18);
+                    }
+                }
+            } else if (length == 11) {
+                if (text.charAt(start) == '1' && isBoundary(start, end)) {
+                    return matched(start, end);
+                }
+            } else if (length == 15) {
+                if (isValidDate(start + 8) && isBoundary(start, end)) {
+                    return matched(start, end);
+                }
+            }
+            i = end;
+        }
+        return false;
+    }
+
+    /**
+     * 18 位身份证：p 起 17 位数字，第 18 位为数字或 xXyY，第 7-8 位为 19/20
+     */
+    private boolean isIdCard18(int p, int digitsEnd) {
+        int last = p + 17;
+        if (last == digitsEnd) {
+            if (last >= runEnd) {
+                return false;
+            }
+            char c = text.charAt(last);
+            if (c != 'x' && c != 'X' && c != 'y' && c != 'Y') {
+                return false;
+            }
+        }
+        char c6 = text.charAt(p + 6);
+        char c7 = text.charAt(p + 7);
+        boolean century = (c6 == '1' && c7 == '9') || (c6 == '2' && c7 == '0');
+        return century && isValidDate(p + 10);
+    }
+
+    /**
+     * 月份 0[1-9]|1[0-2]，日期 [0-2]\d|3[01]
+     */
+    private boolean isValidDate(int monthIndex) {
+        char m0 = text.charAt(monthIndex);
+        char m1 = text.charAt(monthIndex + 1);
+        char d0 = text.charAt(monthIndex + 2);
+        char d1 = text.charAt(monthIndex + 3);
+        boolean month = (m0 == '0' && m1 >= '1' && m1 <= '9') || (m0 == '1' && m1 >= '0' && m1 <= '2');
+        boolean day = (d0 >= '0' && d0 <= '2') || (d0 == '3' && d1 <= '1');
+        return month && day;
+    }
+
+    /**
+     * 前后均不紧邻单词字符或 '*'
+     */
+    private boolean isBoundary(int start, int end) {
+        return (start == from || !isWordOrStar(text.charAt(start - 1)))
+                && (end == to || !isWordOrStar(text.charAt(end)));
+    }
+
+    private int scanRun(int i) {
+        while (i < to && isWordOrDot(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean matched(int start, int end) {
+        matchStart = start;
+        matchEnd = end;
+        cursor = end;
+        if (end > runEnd) {
+            runEnd = end;
+        }
+        return true;
+    }
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static boolean isWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isWordOrDot(char c) {
+        return c == '.' || isWord(c);
+    }
+
+    private static boolean isWordOrStar(char c) {
+        return c == '*' || isWord(c);
+    }
+}
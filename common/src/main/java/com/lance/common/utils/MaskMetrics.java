@@ -0,0 +1,63 @@
+package com.lance.common.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 脱敏统计指标
+ * <p>
+ * 记录内置规则脱敏的调用次数、被预检直接放行的次数以及因此跳过扫描的字符数，
+ * 预检命中率 = 放行次数 / 调用次数，跳过的字符数反映节省的扫描工作量。
+ * 计数器基于 LongAdder，不会在热点路径上产生锁竞争
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public final class MaskMetrics {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder skippedChars = new LongAdder();
+
+    MaskMetrics() {
+    }
+
+    void recordScan() {
+        calls.increment();
+    }
+
+    void recordSkip(int length) {
+        calls.increment();
+        skipped.increment();
+        skippedChars.add(length);
+    }
+
+    /**
+     * 内置规则脱敏的调用次数
+     */
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * 预检判定不含敏感信息、跳过完整扫描的次数
+     */
+    public long getSkipCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * 预检跳过扫描的字符总数
+     */
+    public long getSkippedChars() {
+        return skippedChars.sum();
+    }
+
+    /**
+     * 预检命中率，尚无调用时为 0
+     */
+    public double getSkipRatio() {
+        long total = calls.sum();
+        return total == 0 ? 0 : (double) skipped.sum() / total;
+    }
+}
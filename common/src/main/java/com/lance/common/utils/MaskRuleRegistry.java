@@ -0,0 +1,133 @@
+package com.lance.common.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 脱敏规则注册表
+ * <p>
+ * 提供两类能力：
+ * - 命名规则：启动时通过 {@link #register(String, String)} 注册一次，热点路径上按规则 id 直接取用已编译的 Pattern
+ * - 临时规则：按正则字符串缓存编译结果，缓存有容量上限，超出后淘汰最久未访问的规则（LRU），并记录命中、未命中和淘汰次数
+ * 所有方法均线程安全；命中时只更新访问时间，不加锁，未命中时的写入和淘汰在锁内进行，缓存大小严格不超过上限。
+ * 统计可通过 {@link com.lance.common.metrics.MaskMetricsBinder} 发布为 Micrometer 指标
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public final class MaskRuleRegistry {
+
+    private final ConcurrentHashMap<String, Pattern> rules = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedPattern> cache = new ConcurrentHashMap<>();
+    private final int maxCacheSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MaskRuleRegistry(int maxCacheSize) {
+        if (maxCacheSize <= 0) {
+            throw new IllegalArgumentException("maxCacheSize must be positive: " + maxCacheSize);
+        }
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * 注册命名规则，同名规则会被覆盖；正则不合法时立即抛出 PatternSyntaxException
+     *
+     * @param ruleId  规则 id
+     * @param pattern 正则表达式
+     */
+    public void register(String ruleId, String pattern) {
+        rules.put(ruleId, Pattern.compile(pattern));
+    }
+
+    /**
+     * 获取命名规则
+     *
+     * @param ruleId 规则 id
+     * @return 已编译的 Pattern
+     * @throws IllegalArgumentException 规则未注册
+     */
+    public Pattern getRule(String ruleId) {
+        Pattern pattern = rules.get(ruleId);
+        if (pattern == null) {
+            throw new IllegalArgumentException("Mask rule not registered: " + ruleId);
+        }
+        return pattern;
+    }
+
+    /**
+     * 获取临时规则的编译结果，优先从缓存读取
+     *
+     * @param regex 正则表达式
+     * @return 已编译的 Pattern
+     */
+    public Pattern compile(String regex) {
+        CachedPattern cached = cache.get(regex);
+        if (cached != null) {
+            cached.lastAccess = System.nanoTime();
+            hits.increment();
+            return cached.pattern;
+        }
+        misses.increment();
+        Pattern pattern = Pattern.compile(regex);
+        synchronized (cache) {
+            cached = cache.get(regex);
+            if (cached != null) {
+                return cached.pattern;
+            }
+            if (cache.size() >= maxCacheSize) {
+                evictLeastRecentlyUsed();
+            }
+            cache.put(regex, new CachedPattern(pattern));
+        }
+        return pattern;
+    }
+
+    /**
+     * 只在未命中时执行，缓存容量较小，线性查找最久未访问的条目即可
+     */
+    private void evictLeastRecentlyUsed() {
+        String eldest = null;
+        long eldestAccess = 0;
+        for (Map.Entry<String, CachedPattern> entry : cache.entrySet()) {
+            long access = entry.getValue().lastAccess;
+            if (eldest == null || access - eldestAccess < 0) {
+                eldest = entry.getKey();
+                eldestAccess = access;
+            }
+        }
+        if (eldest != null && cache.remove(eldest) != null) {
+            evictions.increment();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    private static final class CachedPattern {
+        private final Pattern pattern;
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedPattern(Pattern pattern) {
+            this.pattern = pattern;
+        }
+    }
+}
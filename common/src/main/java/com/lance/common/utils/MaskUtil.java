@@ -1,11 +1,20 @@
 package com.lance.common.utils;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import com.lance.common.enums.MaskType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 数据脱敏工具类
@@ -15,6 +24,7 @@ import java.util.stream.Collectors;
  * - 银行卡号脱敏  
  * - 身份证号脱敏
  * - 邮箱地址脱敏
+ * 内置规则由 {@link MaskMatcher} 单次扫描完成，不再逐条执行正则
  * </p>
  *
  * @author xiaolong.shu
@@ -22,28 +32,186 @@ import java.util.stream.Collectors;
  */
 public class MaskUtil {
 
-    private static final String PLACEHOLDER = "*";
-    private static Set<Pattern> patterns;
+    private static final char PLACEHOLDER = '*';
+    private static final int MAX_SHOW = 4;
+    private static final MaskRuleRegistry RULES = new MaskRuleRegistry(256);
+    private static final MaskMetrics METRICS = new MaskMetrics();
+    /**
+     * 批量脱敏超过该数量时拆分到 ForkJoin 公共线程池并行处理，数量较少时并行调度的开销高于收益
+     */
+    private static final int PARALLEL_THRESHOLD = 2048;
 
-    static {
-        String patternString = "((?<![\\w\\*])1\\d{2})(\\d{4})(\\d{4}(?![\\w\\*]));(\\d)(\\d{5}(?:19|20)\\d{2}(?:0[1-9]|1[0-2])(?:[0-2]\\d|3[01])\\d{3})([\\dxXyY]);((?<![\\w\\*])\\d)(\\d{5}\\d{2}(?:0[1-9]|1[0-2])(?:[0-2]\\d|3[01])\\d{2})(\\d(?![\\w\\*]));(\\w[\\.\\w]+)(@\\w[\\.\\w]+)";
-        patterns = Arrays.stream(patternString.split(";")).map(Pattern::compile).collect(Collectors.toSet());
+    /**
+     * 使用单次扫描识别手机号、身份证号和邮箱地址并脱敏
+     * <p>
+     * 不包含敏感信息时直接返回原字符串，不会创建新的字符串
+     * </p>
+     */
+    public static String desensitize(final String item) {
+        return desensitize(item, (StringBuilder) null);
     }
 
-    public static String desensitize(final String item) {
-        if (isBlank(item))
+    /**
+     * 与 {@link #desensitize(String)} 规则相同，但使用调用方提供的 buffer 拼接结果，便于按线程复用缓冲区
+     *
+     * @param item   待脱敏内容
+     * @param buffer 结果缓冲区，使用前会被清空；为 null 时按需创建
+     */
+    public static String desensitize(final String item, StringBuilder buffer) {
+        if (isBlank(item) || !mayContainSensitive(item, 0, item.length()))
+            return item;
+        MaskMatcher matcher = new MaskMatcher(item);
+        if (!matcher.find())
             return item;
-        String tmp = item;
-        for (Pattern pattern : patterns) {
-            tmp = desensitize(tmp, pattern);
+        if (buffer == null) {
+            buffer = new StringBuilder(item.length());
+        } else {
+            buffer.setLength(0);
+        }
+        int last = 0;
+        do {
+            buffer.append(item, last, matcher.start());
+            appendMasked(buffer, item, matcher.start(), matcher.end());
+            last = matcher.end();
+        } while (matcher.find());
+        return buffer.append(item, last, item.length()).toString();
+    }
+
+    /**
+     * 批量脱敏，返回结果与输入顺序一致；数量超过阈值时并行处理
+     *
+     * @param items 待脱敏内容，允许包含 null
+     * @return 新的脱敏结果列表
+     */
+    public static List<String> desensitizeAll(final List<String> items) {
+        if (items.size() < PARALLEL_THRESHOLD) {
+            List<String> result = new ArrayList<>(items.size());
+            for (String item : items) {
+                result.add(desensitize(item));
+            }
+            return result;
+        }
+        return items.parallelStream().map(MaskUtil::desensitize).collect(Collectors.toList());
+    }
+
+    /**
+     * 对流中的每个元素脱敏，是否并行由传入的流决定
+     */
+    public static Stream<String> desensitizeAll(final Stream<String> items) {
+        return items.map(MaskUtil::desensitize);
+    }
+
+    /**
+     * 对象列表按字段批量脱敏，直接回写到原对象；数量超过阈值时并行处理，各对象须互不共享
+     *
+     * @param records 待处理对象
+     * @param getter  读取待脱敏字段
+     * @param setter  写回脱敏结果
+     */
+    public static <T> void desensitizeAll(final List<T> records, Function<T, String> getter, BiConsumer<T, String> setter) {
+        Consumer<T> action = record -> {
+            String value = getter.apply(record);
+            String masked = desensitize(value);
+            if (masked != value) {
+                setter.accept(record, masked);
+            }
+        };
+        if (records.size() < PARALLEL_THRESHOLD) {
+            records.forEach(action);
+        } else {
+            records.parallelStream().forEach(action);
         }
-        return tmp;
     }
 
+    /**
+     * 流式脱敏：从 reader 读取内容，脱敏后写入 writer，内存占用与输入大小无关
+     * <p>
+     * 不会关闭 reader 和 writer
+     * </p>
+     *
+     * @return 处理的字符数
+     */
+    public static long desensitize(final Reader reader, final Writer writer) throws IOException {
+        MaskingWriter masking = new MaskingWriter(writer);
+        long count = reader.transferTo(masking);
+        masking.finish();
+        return count;
+    }
+
+    /**
+     * 直接在 UTF-8 字节上原地脱敏，无需解码为字符串，支持堆内和堆外缓冲区
+     * <p>
+     * 处理 position 到 limit 之间的字节，不改变 position 和 limit；缓冲区只读时抛出 ReadOnlyBufferException
+     * </p>
+     *
+     * @return 脱敏的敏感信息个数
+     */
+    public static int desensitizeUtf8(final ByteBuffer buffer) {
+        return maskBytes(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * 将 src 剩余的 UTF-8 字节复制到 dst 并在 dst 中脱敏，src 保持不变，两者的 position 均前移复制的字节数
+     *
+     * @return 脱敏的敏感信息个数
+     * @throws java.nio.BufferOverflowException dst 剩余空间不足
+     */
+    public static int desensitizeUtf8(final ByteBuffer src, final ByteBuffer dst) {
+        int start = dst.position();
+        dst.put(src);
+        return maskBytes(dst, start, dst.position());
+    }
+
+    private static int maskBytes(ByteBuffer buffer, int from, int to) {
+        ByteBufferCharSequence content = new ByteBufferCharSequence(buffer, from, to - from);
+        if (!mayContainSensitive(content, 0, content.length()))
+            return 0;
+        MaskMatcher matcher = new MaskMatcher(content);
+        int count = 0;
+        while (matcher.find()) {
+            int length = matcher.end() - matcher.start();
+            int maskTo = from + matcher.end() - visibleSuffix(length);
+            for (int i = from + matcher.start() + visiblePrefix(length); i < maskTo; i++) {
+                buffer.put(i, (byte) PLACEHOLDER);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 使用自定义正则脱敏，编译结果会被缓存；固定的规则建议通过 {@link #rules()} 注册后使用 {@link #desensitizeByRule(String, String)}
+     */
     public static String desensitize(final String item, String pattern) {
         if (isBlank(item))
             return item;
-        return desensitize(item, Pattern.compile(pattern));
+        return desensitize(item, RULES.compile(pattern));
+    }
+
+    /**
+     * 使用已注册的命名规则脱敏
+     *
+     * @param item   待脱敏内容
+     * @param ruleId 通过 {@link MaskRuleRegistry#register(String, String)} 注册的规则 id
+     */
+    public static String desensitizeByRule(final String item, String ruleId) {
+        if (isBlank(item))
+            return item;
+        return desensitize(item, RULES.getRule(ruleId));
+    }
+
+    /**
+     * 内置规则脱敏的预检统计
+     */
+    public static MaskMetrics metrics() {
+        return METRICS;
+    }
+
+    /**
+     * 脱敏规则注册表，用于注册命名规则和查看正则缓存统计
+     */
+    public static MaskRuleRegistry rules() {
+        return RULES;
     }
 
     private static boolean isBlank(String string) {
@@ -65,43 +233,147 @@ public class MaskUtil {
     private static String desensitize(final String item, Pattern pattern) {
         try {
             Matcher m = pattern.matcher(item);
-            Set<String> str = new HashSet<>();
-            while (m.find()) {
-                str.add(m.group());
-            }
-            if (str.isEmpty())
+            if (!m.find())
                 return item;
-            String replace = item;
-            for (String toRp : str) {
-                replace = replace.replaceAll(toRp, mask(toRp, 4));
-            }
-            return replace;
+            StringBuilder buffer = new StringBuilder(item.length());
+            int last = 0;
+            do {
+                buffer.append(item, last, m.start());
+                appendMasked(buffer, item, m.start(), m.end());
+                last = m.end();
+            } while (m.find());
+            return buffer.append(item, last, item.length()).toString();
 
         } catch (Throwable t) {
             return String.format("%s [regex error %s]", item, pattern.toString());
         }
     }
 
-    private static String mask(String content, int maxShow) {
-        if (content == null) {
-            return "null";
-        } else {
-            if (content.length() == 1) {
-                return PLACEHOLDER;
-            } else if (content.length() == 2) {
-                return PLACEHOLDER + content.substring(1);
-            } else {
-                StringBuffer buffer = new StringBuffer();
-                int step = Math.min(content.length() / 3, maxShow);
-                buffer.append(content.substring(0, step));
-                String right = content.substring(content.length() - step);
-                int maskLength = content.length() - buffer.length() - right.length();
-                for (int i = 0; i < maskLength; i++) {
-                    buffer.append("*");
+    /**
+     * 将整个 content 视为一个敏感字段，按 mask(content, 4) 规则脱敏
+     */
+    public static String mask(final String content) {
+        if (content == null)
+            return null;
+        StringBuilder buffer = new StringBuilder(content.length());
+        appendMasked(buffer, content, 0, content.length());
+        return buffer.toString();
+    }
+
+    /**
+     * 将整个 content 按 mask(content, 4) 规则脱敏后写入 dst，不创建中间字符串
+     *
+     * @param content 待脱敏内容
+     * @param dst     目标数组，长度不小于 content 的长度
+     * @return 写入的字符数，与 content 长度相同
+     */
+    public static int mask(final CharSequence content, char[] dst) {
+        int length = content.length();
+        int maskFrom = visiblePrefix(length);
+        int maskTo = length - visibleSuffix(length);
+        for (int i = 0; i < length; i++) {
+            dst[i] = i >= maskFrom && i < maskTo ? PLACEHOLDER : content.charAt(i);
+        }
+        return length;
+    }
+
+    /**
+     * 将整个 content 视为指定类型的敏感字段脱敏
+     */
+    public static String mask(final String content, MaskType type) {
+        if (content == null)
+            return null;
+        char[] dst = new char[content.length()];
+        return new String(dst, 0, mask(content, type, dst));
+    }
+
+    /**
+     * 将整个 content 按 {@link MaskType} 对应的规则脱敏后写入 dst，不创建中间字符串；
+     * 邮箱没有 '@' 或内容过短时退回 mask(content, 4) 规则
+     *
+     * @param content 待脱敏内容
+     * @param type    敏感信息类型
+     * @param dst     目标数组，长度不小于 content 的长度
+     * @return 写入的字符数，与 content 长度相同
+     */
+    public static int mask(final CharSequence content, MaskType type, char[] dst) {
+        int length = content.length();
+        int end = length;
+        int prefix = type.getVisiblePrefix();
+        int suffix = type.getVisibleSuffix();
+        if (type == MaskType.EMAIL) {
+            end = indexOf(content, '@');
+            if (end <= 0) {
+                return mask(content, dst);
+            }
+            prefix = Math.min(prefix, end - 1);
+        }
+        if (end - prefix - suffix <= 0) {
+            return mask(content, dst);
+        }
+        int maskTo = end - suffix;
+        for (int i = 0; i < length; i++) {
+            dst[i] = i >= prefix && i < maskTo ? PLACEHOLDER : content.charAt(i);
+        }
+        return length;
+    }
+
+    private static int indexOf(CharSequence content, char c) {
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 内置规则的快速预检：手机号、身份证号至少包含 11 位连续数字，邮箱必须包含 '@'，
+     * 两者都不满足时不可能命中，无需构造扫描器
+     */
+    static boolean mayContainSensitive(CharSequence content, int from, int to) {
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = content.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits >= 11) {
+                    METRICS.recordScan();
+                    return true;
                 }
-                return buffer.append(right).toString();
+            } else if (c == '@') {
+                METRICS.recordScan();
+                return true;
+            } else {
+                digits = 0;
             }
         }
+        METRICS.recordSkip(to - from);
+        return false;
     }
-}
 
+    /**
+     * 按 mask(content, 4) 规则将 content[start, end) 脱敏后追加到 buffer：
+     * 长度为 1 时全部遮盖，长度为 2 时遮盖首字符，否则首尾各保留 min(长度 / 3, 4) 个字符
+     */
+    static void appendMasked(StringBuilder buffer, CharSequence content, int start, int end) {
+        int length = end - start;
+        int maskFrom = start + visiblePrefix(length);
+        int maskTo = end - visibleSuffix(length);
+        buffer.append(content, start, maskFrom);
+        for (int i = maskFrom; i < maskTo; i++) {
+            buffer.append(PLACEHOLDER);
+        }
+        buffer.append(content, maskTo, end);
+    }
+
+    static int visiblePrefix(int length) {
+        return length <= 2 ? 0 : Math.min(length / 3, MAX_SHOW);
+    }
+
+    static int visibleSuffix(int length) {
+        if (length <= 2) {
+            return length == 2 ? 1 : 0;
+        }
+        return Math.min(length / 3, MAX_SHOW);
+    }
+}
@@ -0,0 +1,140 @@
+package com.lance.common.utils;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 流式脱敏 Writer
+ * <p>
+ * 对写入的字符按 {@link MaskUtil#desensitize(String)} 的内置规则脱敏后再写入目标 Writer，
+ * 适用于大文件导出、日志文件、HTTP 响应体等无法整体放入内存的场景。
+ * 只有遇到分隔字符（非单词字符且不是 '.'、'@'、'*'）后，之前的内容才会被脱敏输出，
+ * 分隔字符之后尚未结束的片段暂存在内部缓冲中，因此跨越多次 write 的手机号、身份证号、邮箱同样能被识别。
+ * 暂存片段超过 {@value #MAX_PENDING} 个字符时会被强制输出，以保证内存占用与输入大小无关。
+ * </p>
+ * <p>
+ * {@link #flush()} 只输出已确定的部分，{@link #finish()} 和 {@link #close()} 会输出全部暂存内容
+ * </p>
+ *
+ * @author xiaolong.shu
+ * @date 2025年10月24日 11:20
+ */
+public class MaskingWriter extends FilterWriter {
+
+    private static final int MAX_PENDING = 8192;
+
+    private final StringBuilder pending = new StringBuilder();
+    private final MaskMatcher matcher = new MaskMatcher("");
+    private char[] chunk = new char[256];
+    /**
+     * pending 中已确认不含分隔字符的前缀长度，避免每次写入都重新扫描整个暂存片段
+     */
+    private int scanned;
+
+    public MaskingWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (lock) {
+            pending.append((char) c);
+            drain(false);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            pending.append(cbuf, off, len);
+            drain(false);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        synchronized (lock) {
+            pending.append(str, off, off + len);
+            drain(false);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            drain(false);
+            out.flush();
+        }
+    }
+
+    /**
+     * 输出全部暂存内容并刷新目标 Writer，但不关闭目标 Writer
+     */
+    public void finish() throws IOException {
+        synchronized (lock) {
+            drain(true);
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            drain(true);
+            out.close();
+        }
+    }
+
+    private void drain(boolean all) throws IOException {
+        int length = pending.length();
+        int cut = all ? length : lastSafeCut();
+        if (length - cut > MAX_PENDING) {
+            cut = length;
+        }
+        if (cut == 0) {
+            scanned = length;
+            return;
+        }
+        maskInPlace(cut);
+        if (chunk.length < cut) {
+            chunk = new char[Math.max(cut, chunk.length * 2)];
+        }
+        pending.getChars(0, cut, chunk, 0);
+        out.write(chunk, 0, cut);
+        pending.delete(0, cut);
+        scanned = pending.length();
+    }
+
+    /**
+     * 脱敏不改变长度，且每处匹配的末尾字符都会保留，后续匹配的边界判断不受前面替换的影响，可以原地替换
+     */
+    private void maskInPlace(int to) {
+        if (!MaskUtil.mayContainSensitive(pending, 0, to)) {
+            return;
+        }
+        matcher.reset(pending, 0, to);
+        while (matcher.find()) {
+            int start = matcher.start();
+            int end = matcher.end();
+            int maskTo = end - MaskUtil.visibleSuffix(end - start);
+            for (int i = start + MaskUtil.visiblePrefix(end - start); i < maskTo; i++) {
+                pending.setCharAt(i, '*');
+            }
+        }
+    }
+
+    /**
+     * 最后一个分隔字符之后的位置，之前的内容不会再与后续写入组成新的匹配。
+     * 每次输出后剩余的暂存片段不含分隔字符，只需扫描之后新写入的部分
+     */
+    private int lastSafeCut() {
+        for (int i = pending.length() - 1; i >= scanned; i--) {
+            char c = pending.charAt(i);
+            if (c != '.' && c != '@' && c != '*' && !MaskMatcher.isWord(c)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,85 @@
+package com.lance.common.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BusinessException 测试类
+ * 验证无堆栈模式和共享实例
+ */
+class BusinessExceptionTest {
+
+    @AfterEach
+    void tearDown() {
+        BusinessException.setStacklessByDefault(false);
+        BusinessException.setDebug(false);
+    }
+
+    @Test
+    void testStackTraceByDefault() {
+        assertTrue(new BusinessException(Errors.INTERNAL_SERVER_ERROR).getStackTrace().length > 0);
+        assertNotSame(BusinessException.of(Errors.INTERNAL_SERVER_ERROR), BusinessException.of(Errors.INTERNAL_SERVER_ERROR));
+    }
+
+    @Test
+    void testStacklessError() {
+        assertEquals(0, new BusinessException(StacklessErrors.NOT_FOUND).getStackTrace().length);
+        assertEquals(0, new BusinessException(StacklessErrors.NOT_FOUND.format("order-1")).getStackTrace().length);
+        assertSame(BusinessException.of(StacklessErrors.NOT_FOUND), BusinessException.of(StacklessErrors.NOT_FOUND));
+    }
+
+    @Test
+    void testGlobalStackless() {
+        BusinessException.setStacklessByDefault(true);
+        assertEquals(0, new BusinessException("参数错误").getStackTrace().length);
+        assertEquals(0, new BusinessException(400, "参数错误").getStackTrace().length);
+        assertSame(BusinessException.of(Errors.ILLEGAL_ARGUMENT_EXCEPTION), BusinessException.of(Errors.ILLEGAL_ARGUMENT_EXCEPTION));
+    }
+
+    @Test
+    void testCauseAndDebugKeepStackTrace() {
+        BusinessException.setStacklessByDefault(true);
+        assertTrue(new BusinessException(StacklessErrors.NOT_FOUND, new IllegalStateException()).getStackTrace().length > 0);
+        BusinessException.setDebug(true);
+        assertTrue(new BusinessException(StacklessErrors.NOT_FOUND).getStackTrace().length > 0);
+    }
+
+    @Test
+    void testSharedInstanceIsImmutable() {
+        BusinessException shared = BusinessException.of(StacklessErrors.NOT_FOUND);
+        shared.addSuppressed(new IllegalStateException());
+        assertEquals(0, shared.getSuppressed().length);
+    }
+
+    enum StacklessErrors implements IError {
+        NOT_FOUND(404, "%s not found");
+
+        private final Integer code;
+        private final String msg;
+
+        StacklessErrors(Integer code, String msg) {
+            this.code = code;
+            this.msg = msg;
+        }
+
+        @Override
+        public Integer getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMsg() {
+            return msg;
+        }
+
+        @Override
+        public boolean isStackless() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.lance.common.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ErrorCodeRegistry 测试类
+ * 验证按错误码反查和重复错误码检测
+ */
+class ErrorCodeRegistryTest {
+
+    @Test
+    void testResolveBuiltInErrors() {
+        assertSame(Errors.INTERNAL_SERVER_ERROR, ErrorCodeRegistry.resolve(500));
+        assertSame(Errors.REMOTE_SERVICE_ERROR, ErrorCodeRegistry.resolve(601));
+        assertNull(ErrorCodeRegistry.resolve(-1));
+        assertEquals("自定义", ErrorCodeRegistry.resolve(99999, "自定义").getMsg());
+    }
+
+    @Test
+    void testRegisterSparseCodes() {
+        ErrorCodeRegistry.register(OrderErrors.class);
+        ErrorCodeRegistry.register(OrderErrors.class);
+        assertSame(OrderErrors.ORDER_NOT_FOUND, ErrorCodeRegistry.resolve(100404));
+        assertSame(OrderErrors.ORDER_CLOSED, ErrorCodeRegistry.resolve(-100410));
+    }
+
+    @Test
+    void testDuplicateCodeFailsFast() {
+        assertThrows(IllegalStateException.class, () -> ErrorCodeRegistry.register(DuplicateErrors.class));
+        assertSame(Errors.UNAUTHORIZED, ErrorCodeRegistry.resolve(401));
+        assertNull(ErrorCodeRegistry.resolve(402));
+    }
+
+    enum OrderErrors implements IError {
+        ORDER_NOT_FOUND(100404, "订单不存在"),
+        ORDER_CLOSED(-100410, "订单已关闭");
+
+        private final Integer code;
+        private final String msg;
+
+        OrderErrors(Integer code, String msg) {
+            this.code = code;
+            this.msg = msg;
+        }
+
+        @Override
+        public Integer getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMsg() {
+            return msg;
+        }
+    }
+
+    enum DuplicateErrors implements IError {
+        PAYMENT_REQUIRED(402, "Payment Required"),
+        TOKEN_EXPIRED(401, "Token Expired");
+
+        private final Integer code;
+        private final String msg;
+
+        DuplicateErrors(Integer code, String msg) {
+            this.code = code;
+            this.msg = msg;
+        }
+
+        @Override
+        public Integer getCode() {
+            return code;
+        }
+
+        @Override
+        public String getMsg() {
+            return msg;
+        }
+    }
+}
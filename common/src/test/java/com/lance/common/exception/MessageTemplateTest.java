@@ -0,0 +1,83 @@
+package com.lance.common.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Formatter;
+import java.util.Formattable;
+import java.util.MissingFormatArgumentException;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MessageTemplate 测试类
+ * 验证预编译模板与 String.format 渲染结果一致
+ */
+class MessageTemplateTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageTemplateTest.class);
+
+    @Test
+    void testSameAsStringFormat() {
+        String[] templates = {"Internal Server Error", "%s not found", "用户 %s 的订单 %s 不存在", "100%% 完成%n", "%s%s", "结尾 %s"};
+        Object[][] argsList = {{}, {"order"}, {"u1", 42L}, {null}, {null, 0}, {"a", "extra"}};
+        for (String template : templates) {
+            for (Object[] args : argsList) {
+                String expected;
+                try {
+                    expected = String.format(template, args);
+                } catch (MissingFormatArgumentException e) {
+                    assertThrows(MissingFormatArgumentException.class, () -> MessageTemplate.parse(template).format(args));
+                    continue;
+                }
+                assertEquals(expected, MessageTemplate.parse(template).format(args), template);
+            }
+        }
+    }
+
+    @Test
+    void testFallbackToStringFormat() {
+        assertEquals("金额 3.14", MessageTemplate.parse("金额 %.2f").format(3.14159));
+        Formattable formattable = (Formatter formatter, int flags, int width, int precision) -> formatter.format("F");
+        assertEquals("值 F", MessageTemplate.parse("值 %s").format(formattable));
+    }
+
+    /**
+     * 对比预编译模板和 String.format 的耗时，耗时只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testCostAgainstStringFormat() {
+        String template = "用户 %s 的订单 %s 不存在";
+        MessageTemplate compiled = MessageTemplate.parse(template);
+        int count = 200_000;
+        assertEquals(String.format(template, "u1", 42L), compiled.format("u1", 42L));
+        for (int i = 0; i < count; i++) {
+            String.format(template, "u" + i, (long) i);
+            compiled.format("u" + i, (long) i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String.format(template, "u" + i, (long) i);
+        }
+        long formatMicros = (System.nanoTime() - start) / 1_000;
+
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            compiled.format("u" + i, (long) i);
+        }
+        long templateMicros = (System.nanoTime() - start) / 1_000;
+
+        log.info("渲染 {} 次: String.format {} µs, MessageTemplate {} µs", count, formatMicros, templateMicros);
+    }
+
+    @Test
+    void testErrorFormat() {
+        DynamicError error = Errors.REMOTE_SERVICE_ERROR.format();
+        assertEquals(601, error.getCode());
+        assertEquals("feign接口调用异常", error.getMsg());
+        assertEquals("order-1 not found", Errors.error(404, "%s not found").format("order-1").getMsg());
+    }
+}
@@ -0,0 +1,72 @@
+package com.lance.common.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lance.common.annotation.Mask;
+import com.lance.common.enums.MaskType;
+import com.lance.common.model.ApiResult;
+
+/**
+ * MaskModule 测试类
+ * 验证 @Mask 标注的字段在序列化时被脱敏
+ */
+class MaskModuleTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MaskModule());
+
+    @Test
+    void testMaskedFields() throws JsonProcessingException {
+        UserDTO user = new UserDTO();
+        user.name = "张三";
+        user.phone = "13812345678";
+        user.email = "zhangsan@example.com";
+        user.bankCard = 6222021234567890L;
+
+        String json = objectMapper.writeValueAsString(ApiResult.success(user));
+
+        assertEquals("{\"code\":0,\"msg\":\"SUCCESS\",\"data\":{\"name\":\"张三\",\"phone\":\"138****5678\","
+                + "\"email\":\"z*******@example.com\",\"bankCard\":\"************7890\",\"idCard\":null},"
+                + "\"success\":true}", json);
+    }
+
+    @Test
+    void testMaskByType() throws JsonProcessingException {
+        UserDTO user = new UserDTO();
+        user.phone = "13812345678";
+        user.idCard = "110101199001011234";
+        user.bankCard = 6222021234567890L;
+        user.email = "a@example.com";
+
+        String json = objectMapper.writeValueAsString(user);
+
+        assertEquals("{\"name\":null,\"phone\":\"138****5678\",\"email\":\"*@example.com\","
+                + "\"bankCard\":\"************7890\",\"idCard\":\"110101********1234\"}", json);
+    }
+
+    @Test
+    void testShortValueFallsBackToDefaultRule() throws JsonProcessingException {
+        UserDTO user = new UserDTO();
+        user.phone = "1234";
+        user.email = "no-at-sign";
+
+        String json = objectMapper.writeValueAsString(user);
+
+        assertEquals("{\"name\":null,\"phone\":\"1**4\",\"email\":\"no-****ign\",\"bankCard\":null,\"idCard\":null}", json);
+    }
+
+    public static class UserDTO {
+        public String name;
+        @Mask(type = MaskType.PHONE)
+        public String phone;
+        @Mask(type = MaskType.EMAIL)
+        public String email;
+        @Mask(type = MaskType.BANK_CARD)
+        public Long bankCard;
+        @Mask(type = MaskType.ID_CARD)
+        public String idCard;
+    }
+}
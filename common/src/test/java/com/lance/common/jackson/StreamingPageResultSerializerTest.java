@@ -0,0 +1,105 @@
+package com.lance.common.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lance.common.annotation.Mask;
+import com.lance.common.enums.MaskType;
+import com.lance.common.model.ApiResult;
+import com.lance.common.model.PageResult;
+import com.lance.common.model.StreamingPageResult;
+
+/**
+ * StreamingPageResultSerializer 测试类
+ * 验证流式分页结果逐条写出、与 PageResult 结构一致并在结束后关闭资源
+ */
+class StreamingPageResultSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new MaskModule());
+
+    @Test
+    void testSameStructureAsPageResult() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+        List<UserDTO> users = List.of(new UserDTO("张三", "13812345678"), new UserDTO("李四", "13987654321"));
+        StreamingPageResult<UserDTO> streaming = StreamingPageResult.of(users, 12, 2, 3).onClose(closed::incrementAndGet);
+
+        PageResult<UserDTO> page = new PageResult<>();
+        page.setRecords(users);
+        page.setTotal(12);
+        page.setSize(2);
+        page.setCurrent(3);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(ApiResult.success(page))),
+                objectMapper.readTree(objectMapper.writeValueAsString(ApiResult.success(streaming))));
+        assertTrue(objectMapper.writeValueAsString(page).contains("138****5678"));
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void testLargePageIsStreamed() throws Exception {
+        int count = 200_000;
+        AtomicInteger produced = new AtomicInteger();
+        Iterator<UserDTO> iterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return produced.get() < count;
+            }
+
+            @Override
+            public UserDTO next() {
+                return new UserDTO("user" + produced.incrementAndGet(), null);
+            }
+        };
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, StreamingPageResult.of(iterator, count, count, 1));
+
+        assertEquals(count, produced.get());
+        assertTrue(out.bytes > count * 20L);
+    }
+
+    @Test
+    void testClosedOnFailure() {
+        AtomicInteger closed = new AtomicInteger();
+        Iterable<UserDTO> failing = () -> {
+            throw new IllegalStateException("cursor closed");
+        };
+        assertThrows(JsonMappingException.class,
+                () -> objectMapper.writeValueAsString(StreamingPageResult.of(failing, 1, 1, 1).onClose(closed::incrementAndGet)));
+        assertEquals(1, closed.get());
+    }
+
+    public static class UserDTO {
+        public String name;
+        @Mask(type = MaskType.PHONE)
+        public String phone;
+
+        UserDTO(String name, String phone) {
+            this.name = name;
+            this.phone = phone;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lance.common.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * MaskingMessageConverter 测试类
+ * 验证日志消息脱敏和按 logger 开关
+ */
+class MaskingMessageConverterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MaskingMessageConverterTest.class);
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void testMaskAllLoggers() {
+        MaskingMessageConverter converter = converter(null);
+        assertEquals("用户 138*****678 登录", converter.convert(event("com.lance.Foo", "用户 {} 登录", "13812345678")));
+    }
+
+    @Test
+    void testPlainMessageNotCopied() {
+        MaskingMessageConverter converter = converter(null);
+        LoggingEvent event = event("com.lance.Foo", "服务启动完成", null);
+        assertSame(event.getFormattedMessage(), converter.convert(event));
+    }
+
+    @Test
+    void testPerLoggerSwitch() {
+        MaskingMessageConverter converter = converter(List.of("com.lance", "!com.lance.audit"));
+        assertEquals("138*****678", converter.convert(event("com.lance.user.UserService", "{}", "13812345678")));
+        assertEquals("13812345678", converter.convert(event("com.lance.audit.AuditLog", "{}", "13812345678")));
+        assertEquals("13812345678", converter.convert(event("org.other.Client", "{}", "13812345678")));
+    }
+
+    /**
+     * 对比脱敏转换器和 Logback 默认 %msg 转换器的耗时，耗时只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testCostAgainstPlainMessage() {
+        MessageConverter plain = new MessageConverter();
+        plain.setContext(context);
+        plain.start();
+        MaskingMessageConverter masking = converter(null);
+        int count = 20_000;
+        time(plain, events(count));
+        time(masking, events(count));
+
+        long plainMicros = time(plain, events(count));
+        long maskingMicros = time(masking, events(count));
+
+        log.info("格式化 {} 条日志: 不脱敏 {} µs, 脱敏 {} µs", count, plainMicros, maskingMicros);
+    }
+
+    /**
+     * 每次计时使用新的事件，避免 LoggingEvent 缓存的格式化结果影响耗时；一半日志含手机号
+     */
+    private List<LoggingEvent> events(int count) {
+        List<LoggingEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(i % 2 == 0
+                    ? event("com.lance.Foo", "用户 {} 登录", "1380000" + String.format("%04d", i % 10_000))
+                    : event("com.lance.Foo", "订单 {} 已支付", i));
+        }
+        return events;
+    }
+
+    private static long time(MessageConverter converter, List<LoggingEvent> events) {
+        long start = System.nanoTime();
+        for (LoggingEvent event : events) {
+            converter.convert(event);
+        }
+        return (System.nanoTime() - start) / 1_000;
+    }
+
+    private MaskingMessageConverter converter(List<String> options) {
+        MaskingMessageConverter converter = new MaskingMessageConverter();
+        converter.setContext(context);
+        converter.setOptionList(options);
+        converter.start();
+        return converter;
+    }
+
+    private LoggingEvent event(String loggerName, String message, Object arg) {
+        Object[] args = arg == null ? null : new Object[]{arg};
+        return new LoggingEvent(loggerName, context.getLogger(loggerName), Level.INFO, message, null, args);
+    }
+}
@@ -0,0 +1,86 @@
+package com.lance.common.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.Errors;
+
+/**
+ * ThrottledErrorLogger 测试类
+ * 验证窗口内只完整记录前 N 次，并在下个窗口输出汇总
+ */
+class ThrottledErrorLoggerTest {
+
+    @Test
+    void testThrottleAndSummary() throws InterruptedException {
+        Logger logger = (Logger) LoggerFactory.getLogger("throttled-test");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        ThrottledErrorLogger throttled = new ThrottledErrorLogger(logger, 2, 200, TimeUnit.MILLISECONDS);
+
+        BusinessException e = new BusinessException(Errors.REMOTE_SERVICE_ERROR);
+        assertTrue(throttled.log(e));
+        assertTrue(throttled.log(e));
+        assertFalse(throttled.log(e));
+        assertFalse(throttled.log(e));
+        assertEquals(2, appender.list.size());
+
+        Thread.sleep(250);
+        assertTrue(throttled.log(e));
+        assertEquals(4, appender.list.size());
+        assertTrue(appender.list.get(2).getFormattedMessage().contains("已省略 2 条日志"));
+    }
+
+    @Test
+    void testGroupByCodeAndExceptionType() {
+        Logger logger = (Logger) LoggerFactory.getLogger("throttled-group-test");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        ThrottledErrorLogger throttled = new ThrottledErrorLogger(logger, 1, 1, TimeUnit.MINUTES);
+
+        assertTrue(throttled.log(new BusinessException(Errors.REMOTE_SERVICE_ERROR)));
+        assertFalse(throttled.log(new BusinessException(Errors.REMOTE_SERVICE_ERROR)), "同一错误码和异常类型应该合并");
+        assertTrue(throttled.log(new BusinessException(Errors.INTERNAL_SERVER_ERROR)), "不同错误码应该单独计数");
+        assertTrue(throttled.log(Errors.REMOTE_SERVICE_ERROR, "超时", new IllegalStateException()), "不同异常类型应该单独计数");
+        assertTrue(throttled.log(null, "无异常", null));
+        assertFalse(throttled.log(null, "无异常", null));
+        assertEquals(4, appender.list.size());
+    }
+
+    @Test
+    void testSummaryAfterFloodStops() throws InterruptedException {
+        Logger logger = (Logger) LoggerFactory.getLogger("throttled-stop-test");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        ThrottledErrorLogger throttled = new ThrottledErrorLogger(logger, 1, 100, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 5; i++) {
+            throttled.log(new BusinessException(Errors.REMOTE_SERVICE_ERROR));
+        }
+        Thread.sleep(150);
+        assertTrue(throttled.log(new BusinessException(Errors.INTERNAL_SERVER_ERROR)), "其他错误应该完整记录");
+        assertEquals(3, appender.list.size());
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("[601]")
+                && appender.list.get(1).getFormattedMessage().contains("已省略 4 条日志"), "停止出现的错误也应该输出汇总");
+
+        Thread.sleep(150);
+        throttled.flush();
+        throttled.flush();
+        assertEquals(3, appender.list.size(), "没有省略日志的窗口不应输出汇总");
+        assertTrue(throttled.log(new BusinessException(Errors.REMOTE_SERVICE_ERROR)), "空闲分组移除后重新开始计数");
+    }
+}
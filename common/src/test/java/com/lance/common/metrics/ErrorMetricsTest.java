@@ -0,0 +1,82 @@
+package com.lance.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.Errors;
+import com.lance.common.model.ApiResult;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * ErrorMetrics 测试类
+ * 验证业务异常和错误结果的计数及 Micrometer 发布
+ */
+class ErrorMetricsTest {
+
+    @Test
+    void testCountAndPublish() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ErrorMetricsBinder().bindTo(registry);
+        double exceptions = count(registry, "601", ErrorMetrics.SOURCE_EXCEPTION);
+
+        new BusinessException(Errors.REMOTE_SERVICE_ERROR);
+        new BusinessException(Errors.REMOTE_SERVICE_ERROR, new IllegalStateException());
+        ApiResult.fail(Errors.REMOTE_SERVICE_ERROR);
+        ApiResult.fail(40001, "参数错误");
+
+        assertEquals(exceptions + 2, count(registry, "601", ErrorMetrics.SOURCE_EXCEPTION));
+        assertEquals(1, count(registry, "40001", ErrorMetrics.SOURCE_RESULT));
+    }
+
+    @Test
+    void testRawCodeStatus() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ErrorMetricsBinder().bindTo(registry);
+
+        ApiResult.fail(Errors.INTERNAL_SERVER_ERROR.getCode(), "服务异常");
+        ApiResult.fail(40002, "未注册的错误码");
+
+        assertEquals(1, count(registry, "500",
+                String.valueOf(Errors.INTERNAL_SERVER_ERROR.getHttpCode()), ErrorMetrics.SOURCE_RESULT), "已注册的错误码应该使用注册错误的 HTTP 状态码");
+        assertEquals(1, count(registry, "40002", "unknown", ErrorMetrics.SOURCE_RESULT), "未注册的错误码状态应该记为 unknown");
+        assertEquals(0, count(registry, "40002", "200", ErrorMetrics.SOURCE_RESULT), "未注册的错误码不应该记为 200");
+    }
+
+    @Test
+    void testMaxCodes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ErrorMetricsBinder().bindTo(registry);
+        int previous = ErrorMetrics.maxCodes;
+        long distinctCodes = ErrorMetrics.counters().stream().map(ErrorMetrics.ErrorCounter::getCode)
+                .filter(Objects::nonNull).distinct().count();
+        ErrorMetrics.maxCodes = (int) distinctCodes + 5;
+        try {
+            double other = count(registry, "other", ErrorMetrics.SOURCE_RESULT);
+            for (int code = 990001; code <= 990010; code++) {
+                ErrorMetrics.recordResult(code, 200);
+            }
+            assertEquals(other + 5, count(registry, "other", ErrorMetrics.SOURCE_RESULT), "超出上限的错误码应该合并计数");
+            assertEquals(1, count(registry, "990005", ErrorMetrics.SOURCE_RESULT));
+            assertEquals(0, count(registry, "990006", ErrorMetrics.SOURCE_RESULT));
+        } finally {
+            ErrorMetrics.maxCodes = previous;
+        }
+    }
+
+    private static double count(SimpleMeterRegistry registry, String code, String source) {
+        FunctionCounter counter = registry.find(ErrorMetricsBinder.METRIC_NAME).tag("code", code).tag("source", source).functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static double count(SimpleMeterRegistry registry, String code, String status, String source) {
+        FunctionCounter counter = registry.find(ErrorMetricsBinder.METRIC_NAME).tag("code", code).tag("status", status)
+                .tag("source", source).functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
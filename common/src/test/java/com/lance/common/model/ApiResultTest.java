@@ -0,0 +1,36 @@
+package com.lance.common.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.lance.common.exception.Errors;
+
+/**
+ * ApiResult 测试类
+ * 验证 success()/fail(IError) 返回可链式设置的新实例，常量结果为共享的不可变实例
+ */
+class ApiResultTest {
+
+    @Test
+    void testChainedSetters() {
+        ApiResult<String> success = ApiResult.<String>success().setData("x");
+        assertEquals("x", success.getData());
+        assertNotSame(ApiResult.success(), ApiResult.success());
+
+        ApiResult<Void> fail = ApiResult.<Void>fail(Errors.UNAUTHORIZED).setMsg("登录已过期");
+        assertEquals(Errors.UNAUTHORIZED.getCode(), fail.getCode());
+        assertEquals("登录已过期", fail.getMsg());
+        assertEquals("Unauthorized", ApiResult.fail(Errors.UNAUTHORIZED).getMsg(), "修改结果不应影响之后的调用");
+    }
+
+    @Test
+    void testConstantResults() {
+        assertSame(ApiResult.constantSuccess(), ApiResult.constantSuccess());
+        assertSame(ApiResult.constantFail(Errors.UNAUTHORIZED), ApiResult.constantFail(Errors.UNAUTHORIZED));
+        assertThrows(UnsupportedOperationException.class, () -> ApiResult.constantSuccess().setData(null));
+    }
+}
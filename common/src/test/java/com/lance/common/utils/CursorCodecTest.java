@@ -0,0 +1,62 @@
+package com.lance.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lance.common.exception.BusinessException;
+
+/**
+ * CursorCodec 测试类
+ * 验证游标编解码还原原始值，格式错误和内容被修改的游标被拒绝
+ */
+class CursorCodecTest {
+
+    @BeforeEach
+    void setUp() {
+        CursorCodec.setSecret("test-secret");
+    }
+
+    @Test
+    void testRoundTrip() {
+        Object[] values = {42L, "a:b", new BigDecimal("1.50"), LocalDateTime.of(2025, 10, 24, 11, 20), null};
+        assertArrayEquals(values, CursorCodec.decode(CursorCodec.encode(values)));
+    }
+
+    @Test
+    void testTamperedCursorRejected() {
+        String cursor = CursorCodec.encode(100L);
+        String signature = cursor.substring(cursor.indexOf('.'));
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("L1:1".getBytes(StandardCharsets.UTF_8)) + signature;
+        assertThrows(BusinessException.class, () -> CursorCodec.decode(forged), "修改内容后的游标应该被拒绝");
+        assertThrows(BusinessException.class, () -> CursorCodec.decode(cursor.substring(0, cursor.indexOf('.'))), "缺少签名的游标应该被拒绝");
+        assertThrows(BusinessException.class, () -> CursorCodec.decode("not-a-cursor!"));
+    }
+
+    @Test
+    void testSecretChangeInvalidatesCursor() {
+        CursorCodec.setSecret("secret-1");
+        String cursor = CursorCodec.encode(100L);
+        CursorCodec.setSecret("secret-2");
+        assertThrows(BusinessException.class, () -> CursorCodec.decode(cursor), "更换密钥后旧游标应该失效");
+    }
+
+    @Test
+    void testMissingSecretFailsFast() {
+        CursorCodec.key = null;
+        try {
+            assertThrows(IllegalStateException.class, () -> CursorCodec.encode(1L), "未配置密钥时不应签发游标");
+            assertThrows(IllegalStateException.class, () -> CursorCodec.decode("TDE6MQ.AAAA"), "未配置密钥时不应当作非法游标处理");
+        } finally {
+            CursorCodec.setSecret("test-secret");
+        }
+    }
+}
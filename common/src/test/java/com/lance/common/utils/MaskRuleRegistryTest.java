@@ -0,0 +1,96 @@
+package com.lance.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.lance.common.metrics.MaskMetricsBinder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * MaskRuleRegistry 测试类
+ * 验证命名规则注册、正则缓存的 LRU 淘汰、容量上限和指标发布
+ */
+class MaskRuleRegistryTest {
+
+    @Test
+    void testNamedRule() {
+        MaskUtil.rules().register("order-no", "NO\\d{8}");
+        assertEquals("订单 NO1****678", MaskUtil.desensitizeByRule("订单 NO12345678", "order-no"));
+        assertThrows(IllegalArgumentException.class, () -> MaskUtil.desensitizeByRule("订单", "missing"));
+    }
+
+    @Test
+    void testCacheHitAndMiss() {
+        MaskRuleRegistry registry = new MaskRuleRegistry(4);
+        assertSame(registry.compile("\\d+"), registry.compile("\\d+"));
+        assertEquals(1, registry.getMissCount());
+        assertEquals(1, registry.getHitCount());
+    }
+
+    @Test
+    void testCacheEviction() {
+        MaskRuleRegistry registry = new MaskRuleRegistry(2);
+        registry.compile("a");
+        registry.compile("b");
+        registry.compile("c");
+        assertEquals(2, registry.getCacheSize());
+        assertEquals(1, registry.getEvictionCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() throws InterruptedException {
+        MaskRuleRegistry registry = new MaskRuleRegistry(2);
+        Pattern hot = registry.compile("hot");
+        registry.compile("cold");
+        Thread.sleep(1);
+        registry.compile("hot");
+        registry.compile("new");
+        assertSame(hot, registry.compile("hot"), "最近访问过的规则不应被淘汰");
+        assertEquals(3, registry.getMissCount());
+    }
+
+    @Test
+    void testBoundUnderConcurrency() throws InterruptedException {
+        MaskRuleRegistry registry = new MaskRuleRegistry(8);
+        AtomicInteger maxSize = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    registry.compile("r" + (i * 7 + offset) % 64);
+                    maxSize.accumulateAndGet(registry.getCacheSize(), Math::max);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(maxSize.get() <= 8, "并发写入时缓存大小不应超过上限，实际 " + maxSize.get());
+        assertTrue(registry.getEvictionCount() > 0);
+    }
+
+    @Test
+    void testMetricsBinder() {
+        MaskRuleRegistry registry = new MaskRuleRegistry(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new MaskMetricsBinder(registry).bindTo(meterRegistry);
+        registry.compile("a");
+        registry.compile("a");
+        registry.compile("b");
+
+        assertEquals(1, meterRegistry.get("mask.rule.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2, meterRegistry.get("mask.rule.cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1, meterRegistry.get("mask.rule.cache.evictions").functionCounter().count());
+        assertEquals(1, meterRegistry.get("mask.rule.cache.size").gauge().value());
+    }
+}
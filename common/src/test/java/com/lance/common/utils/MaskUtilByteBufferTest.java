@@ -0,0 +1,43 @@
+package com.lance.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * MaskUtil 字节缓冲区脱敏测试类
+ * 验证在 UTF-8 字节上脱敏与在字符串上脱敏结果一致
+ */
+class MaskUtilByteBufferTest {
+
+    private static final String CONTENT = "用户：13812345678，邮箱：zhangsan@example.com，身份证：110101199001011234";
+
+    @Test
+    void testHeapBufferInPlace() {
+        ByteBuffer buffer = ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8));
+        assertEquals(3, MaskUtil.desensitizeUtf8(buffer));
+        assertEquals(0, buffer.position());
+        assertEquals(MaskUtil.desensitize(CONTENT), StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    void testDirectBufferCopy() {
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer src = ByteBuffer.allocateDirect(bytes.length);
+        src.put(bytes).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(bytes.length + 8);
+        dst.put((byte) '>');
+
+        assertEquals(3, MaskUtil.desensitizeUtf8(src, dst));
+        assertEquals(bytes.length, src.position());
+        assertEquals(bytes.length + 1, dst.position());
+
+        src.flip();
+        assertEquals(CONTENT, StandardCharsets.UTF_8.decode(src).toString());
+        dst.flip();
+        assertEquals(">" + MaskUtil.desensitize(CONTENT), StandardCharsets.UTF_8.decode(dst).toString());
+    }
+}
@@ -0,0 +1,226 @@
+package com.lance.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MaskUtil 测试类
+ * 验证单次扫描脱敏与原有逐条正则脱敏结果一致
+ */
+class MaskUtilTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MaskUtilTest.class);
+
+    private static final List<Pattern> LEGACY_PATTERNS = Arrays.stream(
+            ("((?<![\\w\\*])1\\d{2})(\\d{4})(\\d{4}(?![\\w\\*]));"
+                    + "(\\d)(\\d{5}(?:19|20)\\d{2}(?:0[1-9]|1[0-2])(?:[0-2]\\d|3[01])\\d{3})([\\dxXyY]);"
+                    + "((?<![\\w\\*])\\d)(\\d{5}\\d{2}(?:0[1-9]|1[0-2])(?:[0-2]\\d|3[01])\\d{2})(\\d(?![\\w\\*]));"
+                    + "(\\w[\\.\\w]+)(@\\w[\\.\\w]+)").split(";"))
+            .map(Pattern::compile)
+            .toList();
+
+    @Test
+    void testPhone() {
+        assertEquals("手机号：138*****678，请联系", MaskUtil.desensitize("手机号：13812345678，请联系"));
+        assertSame("订单号 a13812345678", MaskUtil.desensitize("订单号 a13812345678"));
+        assertSame("13812345678*", MaskUtil.desensitize("13812345678*"));
+    }
+
+    @Test
+    void testIdCard() {
+        assertEquals("身份证 1101**********1234", MaskUtil.desensitize("身份证 110101199001011234"));
+        assertEquals("身份证 1101**********123X", MaskUtil.desensitize("身份证 11010119900101123X"));
+        assertEquals("旧身份证 1101*******1123", MaskUtil.desensitize("旧身份证 110101900101123"));
+        assertSame("无效日期 110101199013011234", MaskUtil.desensitize("无效日期 110101199013011234"));
+    }
+
+    @Test
+    void testEmail() {
+        assertEquals("邮箱 zhan************.com 已绑定", MaskUtil.desensitize("邮箱 zhangsan@example.com 已绑定"));
+        assertSame("a@b", MaskUtil.desensitize("a@b"));
+    }
+
+    @Test
+    void testMultipleMatches() {
+        assertEquals("138*****678,139*****321;zhan************.com",
+                MaskUtil.desensitize("13812345678,13987654321;zhangsan@example.com"));
+    }
+
+    @Test
+    void testBlankAndPlainText() {
+        assertSame(null, MaskUtil.desensitize(null));
+        assertSame("  ", MaskUtil.desensitize("  "));
+        assertSame("没有敏感信息 12345", MaskUtil.desensitize("没有敏感信息 12345"));
+    }
+
+    @Test
+    void testPrefilterMetrics() {
+        MaskMetrics metrics = MaskUtil.metrics();
+        long calls = metrics.getCallCount();
+        long skipped = metrics.getSkipCount();
+        MaskUtil.desensitize("订单 1234567890 已支付");
+        MaskUtil.desensitize("联系人 13812345678");
+        assertEquals(calls + 2, metrics.getCallCount());
+        assertEquals(skipped + 1, metrics.getSkipCount());
+    }
+
+    @Test
+    void testSameResultAsLegacyRegex() {
+        String[] samples = {
+                "13812345678",
+                "电话:13812345678。",
+                "a.13812345678.b",
+                "x13812345678",
+                "110101199001011234",
+                "前缀abc110101199001011234后缀",
+                "12345678901234567890",
+                "11010119900101123y",
+                "110101900101123",
+                "1101019001011234",
+                "zhang.san@example.com",
+                "._zhangsan@mail.example.com;",
+                "user@host",
+                "@example.com",
+                "编号 1234567 与 13800000000"
+        };
+        for (String sample : samples) {
+            assertEquals(legacyDesensitize(sample), MaskUtil.desensitize(sample), sample);
+        }
+    }
+
+    /**
+     * 对比单次扫描和原有逐条正则 + replaceAll 的耗时，耗时只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testCostAgainstLegacyRegex() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            items.add(switch (i % 4) {
+                case 0 -> "用户 " + i + " 手机号 1380000" + String.format("%04d", i % 10_000) + " 已登录";
+                case 1 -> "身份证 11010119900101" + String.format("%04d", i % 10_000) + " 校验通过";
+                case 2 -> "邮箱 user" + i + "@example.com 已绑定";
+                default -> "订单 " + i + " 已支付，金额 128.00 元";
+            });
+        }
+        for (String item : items) {
+            assertEquals(legacyDesensitize(item), MaskUtil.desensitize(item), item);
+        }
+
+        long start = System.nanoTime();
+        for (String item : items) {
+            legacyDesensitize(item);
+        }
+        long legacyMicros = (System.nanoTime() - start) / 1_000;
+
+        start = System.nanoTime();
+        for (String item : items) {
+            MaskUtil.desensitize(item);
+        }
+        long singlePassMicros = (System.nanoTime() - start) / 1_000;
+
+        log.info("脱敏 {} 条: 逐条正则 {} µs, 单次扫描 {} µs", items.size(), legacyMicros, singlePassMicros);
+    }
+
+    @Test
+    void testDesensitizeAllKeepsOrder() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(i % 2 == 0 ? "编号" + i : "电话 1380000" + String.format("%04d", i));
+        }
+        List<String> masked = MaskUtil.desensitizeAll(items);
+        assertEquals(items.size(), masked.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(MaskUtil.desensitize(items.get(i)), masked.get(i));
+        }
+    }
+
+    /**
+     * 对比 desensitizeAll 并行脱敏和串行逐条脱敏的耗时，耗时只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testDesensitizeAllCostAgainstSerial() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            items.add("用户 " + i + " 手机号 1380000" + String.format("%04d", i % 10_000) + " 邮箱 user" + i + "@example.com");
+        }
+        assertEquals(serialDesensitize(items), MaskUtil.desensitizeAll(items));
+
+        long start = System.nanoTime();
+        serialDesensitize(items);
+        long serialMicros = (System.nanoTime() - start) / 1_000;
+
+        start = System.nanoTime();
+        MaskUtil.desensitizeAll(items);
+        long parallelMicros = (System.nanoTime() - start) / 1_000;
+
+        log.info("脱敏 {} 条, {} 个处理器: 串行 {} µs, desensitizeAll {} µs",
+                items.size(), Runtime.getRuntime().availableProcessors(), serialMicros, parallelMicros);
+    }
+
+    @Test
+    void testDesensitizeAllFields() {
+        List<String[]> records = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            records.add(new String[]{"1390000" + String.format("%04d", i)});
+        }
+        MaskUtil.desensitizeAll(records, record -> record[0], (record, value) -> record[0] = value);
+        assertEquals("139*****000", records.get(0)[0]);
+        assertEquals("139*****999", records.get(2999)[0]);
+    }
+
+    @Test
+    void testCustomPattern() {
+        assertEquals("编号 A12****789 和 A98****389",
+                MaskUtil.desensitize("编号 A123456789 和 A987654389", "A\\d{9}"));
+    }
+
+    private static List<String> serialDesensitize(List<String> items) {
+        List<String> masked = new ArrayList<>(items.size());
+        for (String item : items) {
+            masked.add(MaskUtil.desensitize(item));
+        }
+        return masked;
+    }
+
+    /**
+     * 原实现：逐条正则查找并整体替换，样例中每条输入只命中一条规则，结果与规则顺序无关
+     */
+    private static String legacyDesensitize(String item) {
+        String tmp = item;
+        for (Pattern pattern : LEGACY_PATTERNS) {
+            Matcher m = pattern.matcher(tmp);
+            Set<String> found = new HashSet<>();
+            while (m.find()) {
+                found.add(m.group());
+            }
+            for (String toRp : found) {
+                tmp = tmp.replaceAll(toRp, legacyMask(toRp));
+            }
+        }
+        return tmp;
+    }
+
+    private static String legacyMask(String content) {
+        if (content.length() == 1) {
+            return "*";
+        } else if (content.length() == 2) {
+            return "*" + content.substring(1);
+        }
+        int step = Math.min(content.length() / 3, 4);
+        return content.substring(0, step)
+                + "*".repeat(content.length() - 2 * step)
+                + content.substring(content.length() - step);
+    }
+}
@@ -0,0 +1,73 @@
+package com.lance.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * MaskingWriter 测试类
+ * 验证流式脱敏在分块写入时与整体脱敏结果一致
+ */
+class MaskingWriterTest {
+
+    private static final String CONTENT = "用户 13812345678 的邮箱是 zhangsan@example.com，"
+            + "身份证 110101199001011234；备用号码:13987654321";
+
+    @Test
+    void testMatchSplitAcrossWrites() throws IOException {
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target)) {
+            writer.write("用户 138123");
+            writer.write("45678 的邮箱是 zhangsan@exa");
+            assertEquals("用户 138*****678 的邮箱是 ", target.toString());
+            writer.write("mple.com，身份证 110101199001011234；备用号码:13987654321");
+        }
+        assertEquals(MaskUtil.desensitize(CONTENT), target.toString());
+    }
+
+    @Test
+    void testCharByCharWrites() throws IOException {
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target)) {
+            for (int i = 0; i < CONTENT.length(); i++) {
+                writer.write(CONTENT.charAt(i));
+            }
+        }
+        assertEquals(MaskUtil.desensitize(CONTENT), target.toString());
+    }
+
+    @Test
+    void testLongRunWrittenCharByChar() throws IOException {
+        StringBuilder content = new StringBuilder("编号:");
+        for (int i = 0; i < 5000; i++) {
+            content.append(i % 10);
+        }
+        content.append(" 手机 13812345678 ").append("a.b@example.com");
+        StringWriter target = new StringWriter();
+        try (MaskingWriter writer = new MaskingWriter(target)) {
+            for (int i = 0; i < content.length(); i++) {
+                writer.write(content.charAt(i));
+                if (i % 1000 == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        assertEquals(MaskUtil.desensitize(content.toString()), target.toString());
+    }
+
+    @Test
+    void testReaderToWriter() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append(CONTENT).append('\n');
+        }
+        StringWriter target = new StringWriter();
+        long count = MaskUtil.desensitize(new StringReader(content.toString()), target);
+        assertEquals(content.length(), count);
+        assertEquals(MaskUtil.desensitize(content.toString()), target.toString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * 支持批量写入的 BaseMapper
+ * <p>
+ * 由 {@link BatchSqlInjector} 注入多行 VALUES 批量插入语句，相比逐条 insert 每批只需一次数据库往返。
+ * 带 batchSize 的方法按批拆分，避免单条语句超过 MySQL max_allowed_packet；
+ * 各批分别执行，需要整体原子性时请在外层开启事务
+ * </p>
+ */
+public interface BatchBaseMapper<T> extends BaseMapper<T> {
+
+    /**
+     * 单条语句批量插入，自增主键按顺序回填到实体；列表不能为空，整个列表作为一条语句发送，
+     * 数据量较大时请使用 {@link #insertBatch(Collection, int)}
+     *
+     * @param entities 实体列表
+     * @return 影响行数
+     */
+    int insertBatch(List<T> entities);
+
+    /**
+     * 单条语句批量插入或更新（ON DUPLICATE KEY UPDATE），不回填自增主键；列表不能为空，整个列表作为一条语句发送，
+     * 数据量较大时请使用 {@link #upsertBatch(Collection, int)}。
+     * 默认生成 col = VALUES(col)，MySQL 8.0.20 起会产生废弃警告，8.0.19 及以上可开启 mybatis.batch.upsert-row-alias 改用行别名写法
+     *
+     * @param entities 实体列表
+     * @return 影响行数，MySQL 中每条新插入的行计 1，每条被更新的行计 2
+     */
+    int upsertBatch(List<T> entities);
+
+    /**
+     * 按批插入
+     *
+     * @param entities  实体集合，为空时直接返回 0
+     * @param batchSize 每批条数
+     * @return 影响行数
+     */
+    default int insertBatch(Collection<T> entities, int batchSize) {
+        return executeInBatches(entities, batchSize, this::insertBatch);
+    }
+
+    /**
+     * 按批插入或更新
+     *
+     * @param entities  实体集合，为空时直接返回 0
+     * @param batchSize 每批条数
+     * @return 影响行数
+     */
+    default int upsertBatch(Collection<T> entities, int batchSize) {
+        return executeInBatches(entities, batchSize, this::upsertBatch);
+    }
+
+    private static <T> int executeInBatches(Collection<T> entities, int batchSize,
+                                            ToIntFunction<List<T>> statement) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+        if (entities.size() <= batchSize && entities instanceof List<T> list) {
+            return statement.applyAsInt(list);
+        }
+        int rows = 0;
+        List<T> batch = new ArrayList<>(Math.min(batchSize, entities.size()));
+        for (T entity : entities) {
+            batch.add(entity);
+            if (batch.size() == batchSize) {
+                rows += statement.applyAsInt(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            rows += statement.applyAsInt(batch);
+        }
+        return rows;
+    }
+}
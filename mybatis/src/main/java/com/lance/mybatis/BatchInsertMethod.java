@@ -0,0 +1,105 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlInjectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.StringJoiner;
+
+/**
+ * 多行 VALUES 批量插入方法
+ * <p>
+ * 生成 INSERT INTO t (cols) VALUES (..), (..) 语句，一次往返写入整批数据，写入全部字段（包括值为 null 的字段）。
+ * upsert 模式追加 ON DUPLICATE KEY UPDATE，更新除主键外的全部字段，主键列始终写入以便识别重复行。
+ * 默认使用 col = VALUES(col) 写法，兼容 MySQL 5.7、MariaDB 和 H2，但 MySQL 8.0.20 起该写法已废弃，每条语句都会产生警告；
+ * 开启行别名后改为 VALUES (..) AS new_row ON DUPLICATE KEY UPDATE col = new_row.col，需要 MySQL 8.0.19 及以上
+ * </p>
+ * <p>
+ * 自增主键：insert 模式通过 JDBC getGeneratedKeys 按顺序回填到实体；
+ * upsert 模式下 MySQL 对被更新的行返回的主键不可靠，因此不回填
+ * </p>
+ */
+public class BatchInsertMethod extends AbstractMethod {
+
+    private static final String SQL = "<script>\nINSERT INTO %s (%s) VALUES %s%s\n</script>";
+    private static final String ROW_ALIAS = "new_row";
+
+    private final boolean upsert;
+    private final boolean rowAlias;
+
+    /**
+     * @param methodName Mapper 方法名
+     * @param upsert     是否追加 ON DUPLICATE KEY UPDATE
+     */
+    public BatchInsertMethod(String methodName, boolean upsert) {
+        this(methodName, upsert, false);
+    }
+
+    /**
+     * @param methodName Mapper 方法名
+     * @param upsert     是否追加 ON DUPLICATE KEY UPDATE
+     * @param rowAlias   upsert 是否使用 MySQL 8.0.19 起支持的行别名写法
+     */
+    public BatchInsertMethod(String methodName, boolean upsert, boolean rowAlias) {
+        super(methodName);
+        this.upsert = upsert;
+        this.rowAlias = rowAlias;
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        boolean autoKey = tableInfo.havePK() && tableInfo.getIdType() == IdType.AUTO;
+        boolean writeKey = tableInfo.havePK() && (upsert || !autoKey);
+
+        StringJoiner columns = new StringJoiner(COMMA);
+        StringBuilder values = new StringBuilder(LEFT_BRACKET);
+        if (writeKey) {
+            columns.add(tableInfo.getKeyColumn());
+            values.append(SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty())).append(COMMA);
+        }
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            columns.add(field.getColumn());
+            values.append(field.getInsertSqlProperty(ENTITY_DOT));
+        }
+        values.setLength(values.length() - 1);
+        values.append(RIGHT_BRACKET);
+
+        String valuesScript = SqlScriptUtils.convertForeach(values.toString(), LIST, null, ENTITY, COMMA);
+        String duplicateKeyUpdate = upsert ? duplicateKeyUpdate(tableInfo, rowAlias) : EMPTY;
+        String sql = String.format(SQL, tableInfo.getTableName(), columns, valuesScript, duplicateKeyUpdate);
+        SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+        if (autoKey && !upsert) {
+            keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+            keyProperty = tableInfo.getKeyProperty();
+            keyColumn = SqlInjectionUtils.removeEscapeCharacter(tableInfo.getKeyColumn());
+        }
+        return this.addInsertMappedStatement(mapperClass, modelClass, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+
+    /**
+     * ON DUPLICATE KEY UPDATE 子句，没有非主键字段时为空
+     */
+    static String duplicateKeyUpdate(TableInfo tableInfo, boolean rowAlias) {
+        StringJoiner updates = new StringJoiner(COMMA);
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            String column = field.getColumn();
+            updates.add(column + EQUALS + (rowAlias ? ROW_ALIAS + DOT + column : "VALUES(" + column + RIGHT_BRACKET));
+        }
+        if (updates.length() == 0) {
+            return EMPTY;
+        }
+        return (rowAlias ? " AS " + ROW_ALIAS : EMPTY) + NEWLINE + "ON DUPLICATE KEY UPDATE " + updates;
+    }
+}
@@ -0,0 +1,38 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.List;
+
+/**
+ * 批量写入 SQL 注入器
+ * 在 MyBatis-Plus 默认方法的基础上，为继承 {@link BatchBaseMapper} 的 Mapper 注入 insertBatch 和 upsertBatch
+ */
+public class BatchSqlInjector extends DefaultSqlInjector {
+
+    private final boolean upsertRowAlias;
+
+    public BatchSqlInjector() {
+        this(false);
+    }
+
+    /**
+     * @param upsertRowAlias upsertBatch 是否使用 MySQL 8.0.19 起支持的行别名写法，见 {@link BatchInsertMethod}
+     */
+    public BatchSqlInjector(boolean upsertRowAlias) {
+        this.upsertRowAlias = upsertRowAlias;
+    }
+
+    @Override
+    public List<AbstractMethod> getMethodList(Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methods = super.getMethodList(configuration, mapperClass, tableInfo);
+        if (BatchBaseMapper.class.isAssignableFrom(mapperClass)) {
+            methods.add(new BatchInsertMethod("insertBatch", false));
+            methods.add(new BatchInsertMethod("upsertBatch", true, upsertRowAlias));
+        }
+        return methods;
+    }
+}
@@ -0,0 +1,19 @@
+package com.lance.mybatis;
+
+/**
+ * Mapper 启动检查方式
+ * <p>
+ * 通过 mybatis.boot.check.mode 配置，默认 QUERY
+ * </p>
+ */
+public enum BootCheckMode {
+    /**
+     * 每个 Mapper 执行一次 LIMIT 1 查询，能发现 SQL 映射和权限等所有问题，但需要与 Mapper 数量相同的查询次数
+     */
+    QUERY,
+    /**
+     * 一次读取数据库元数据，与各 Mapper 实体的 TableInfo 对比，发现缺少的表和列；
+     * 配置 mybatis.boot.check.schema-version 后元数据快照缓存在本地磁盘，版本不变时重启不再查询数据库
+     */
+    METADATA
+}
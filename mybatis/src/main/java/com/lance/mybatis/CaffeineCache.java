@@ -0,0 +1,195 @@
+package com.lance.mybatis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.ibatis.builder.InitializingObject;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 Caffeine（W-TinyLFU 淘汰策略）的 MyBatis 二级缓存
+ * <p>
+ * 按 Mapper 命名空间配置，例如：
+ * <pre>
+ * &#64;CacheNamespace(implementation = CaffeineCache.class, properties = {
+ *         &#64;Property(name = "maximumSize", value = "5000"),
+ *         &#64;Property(name = "expireAfterWrite", value = "10m"),
+ *         &#64;Property(name = "refreshAfterWrite", value = "1m")
+ * })
+ * </pre>
+ * XML Mapper 使用 &lt;cache type="com.lance.mybatis.CaffeineCache"&gt; 并以 &lt;property&gt; 配置。
+ * 时长支持 "500ms"、"10m"、"PT1M" 等格式，不配置表示不过期；同一命名空间的增删改语句提交后会清空该缓存。
+ * 缓存直接保存查询结果对象，不做序列化拷贝，调用方不应修改查询返回的实体。
+ * </p>
+ * <p>
+ * MyBatis 缓存没有加载函数，refreshAfterWrite 的实现方式为：条目写入超过该时长后，第一个读取者得到未命中并重新查询回填，
+ * 在刷新间隔内其他读取者继续得到旧值；未能回填时下一个刷新间隔会再次放行一个读取者
+ * </p>
+ * <p>
+ * 命中、未命中、淘汰统计可通过 {@link #stats()} 获取，存在 Micrometer 时由 {@link CaffeineCacheMetricsBinder} 发布为 cache.* 指标
+ * </p>
+ */
+public class CaffeineCache implements org.apache.ibatis.cache.Cache, InitializingObject {
+
+    private final String id;
+    private long maximumSize = 1000;
+    private Duration expireAfterWrite;
+    private Duration expireAfterAccess;
+    private Duration refreshAfterWrite;
+    private Cache<Object, Entry> cache;
+
+    public CaffeineCache(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("Cache instances require an ID");
+        }
+        this.id = id;
+    }
+
+    @Override
+    public void initialize() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maximumSize).recordStats();
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+        this.cache = builder.build();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        if (value == null) {
+            cache().invalidate(key);
+            return;
+        }
+        cache().put(key, new Entry(value, refreshAfterWrite == null ? Long.MAX_VALUE : System.nanoTime() + refreshAfterWrite.toNanos()));
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        Entry entry = cache().getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (refreshAfterWrite != null) {
+            long now = System.nanoTime();
+            long refreshAt = entry.refreshAt.get();
+            if (now - refreshAt >= 0 && entry.refreshAt.compareAndSet(refreshAt, now + refreshAfterWrite.toNanos())) {
+                return null;
+            }
+        }
+        return entry.value;
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        Entry entry = cache().asMap().remove(key);
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void clear() {
+        cache().invalidateAll();
+    }
+
+    @Override
+    public int getSize() {
+        return (int) Math.min(cache().estimatedSize(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 命中、未命中、淘汰等统计信息
+     */
+    public CacheStats stats() {
+        return cache().stats();
+    }
+
+    /**
+     * 底层 Caffeine 缓存，用于发布指标
+     */
+    Cache<Object, ?> nativeCache() {
+        return cache();
+    }
+
+    /**
+     * 从 Configuration.getCache 返回的缓存中取出 CaffeineCache，不是 CaffeineCache 时返回 null。
+     * MyBatis 的 LoggingCache 等装饰器都以 delegate 字段持有被装饰的缓存且没有公开的访问方法，因此逐层反射读取
+     */
+    static CaffeineCache unwrap(org.apache.ibatis.cache.Cache cache) {
+        org.apache.ibatis.cache.Cache current = cache;
+        while (current != null && !(current instanceof CaffeineCache)) {
+            Field delegate = ReflectionUtils.findField(current.getClass(), "delegate", org.apache.ibatis.cache.Cache.class);
+            if (delegate == null) {
+                return null;
+            }
+            ReflectionUtils.makeAccessible(delegate);
+            current = (org.apache.ibatis.cache.Cache) ReflectionUtils.getField(delegate, current);
+        }
+        return (CaffeineCache) current;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public void setExpireAfterWrite(String expireAfterWrite) {
+        this.expireAfterWrite = parse(expireAfterWrite);
+    }
+
+    public void setExpireAfterAccess(String expireAfterAccess) {
+        this.expireAfterAccess = parse(expireAfterAccess);
+    }
+
+    public void setRefreshAfterWrite(String refreshAfterWrite) {
+        this.refreshAfterWrite = parse(refreshAfterWrite);
+    }
+
+    private Cache<Object, Entry> cache() {
+        if (cache == null) {
+            initialize();
+        }
+        return cache;
+    }
+
+    private static Duration parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Duration duration = DurationStyle.detectAndParse(value.trim());
+        return duration.isZero() || duration.isNegative() ? null : duration;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof org.apache.ibatis.cache.Cache other && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final AtomicLong refreshAt;
+
+        private Entry(Object value, long refreshAt) {
+            this.value = value;
+            this.refreshAt = new AtomicLong(refreshAt);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.lance.mybatis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * MyBatis 二级缓存指标发布器
+ * <p>
+ * 二级缓存由 MyBatis 在构建 SqlSessionFactory 时创建，且被 LoggingCache 等装饰器包装，
+ * 因此在所有单例初始化完成后从各 SqlSessionFactory 自身的 Configuration 中取出 {@link CaffeineCache}，
+ * 不依赖 JVM 全局的注册表，以 cache 标签为命名空间发布
+ * cache.gets（result=hit/miss）、cache.evictions、cache.size 等指标
+ * </p>
+ */
+public class CaffeineCacheMetricsBinder implements SmartInitializingSingleton {
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final ObjectProvider<SqlSessionFactory> sqlSessionFactories;
+
+    public CaffeineCacheMetricsBinder(ObjectProvider<MeterRegistry> registryProvider,
+                                      ObjectProvider<SqlSessionFactory> sqlSessionFactories) {
+        this.registryProvider = registryProvider;
+        this.sqlSessionFactories = sqlSessionFactories;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Set<String> bound = new HashSet<>();
+        sqlSessionFactories.orderedStream().forEach(factory -> {
+            for (String id : factory.getConfiguration().getCacheNames()) {
+                CaffeineCache cache = CaffeineCache.unwrap(factory.getConfiguration().getCache(id));
+                if (cache != null && bound.add(id)) {
+                    CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), id, Tags.of("type", "mybatis"));
+                }
+            }
+        });
+    }
+}
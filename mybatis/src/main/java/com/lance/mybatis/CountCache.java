@@ -0,0 +1,78 @@
+package com.lance.mybatis;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分页总数缓存
+ * 按规范化 SQL 和参数值缓存 COUNT 结果，过期的条目在读取时删除；条目数达到上限时先清理过期条目，仍然超出则淘汰任意一条
+ */
+class CountCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    CountCache(long ttlNanos, int maxSize) {
+        this.ttlNanos = ttlNanos;
+        this.maxSize = maxSize;
+    }
+
+    static Key key(String sql, List<Object> parameters) {
+        return new Key(normalize(sql), parameters);
+    }
+
+    Long get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt >= ttlNanos) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.total;
+    }
+
+    void put(Key key, long total) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> now - entry.createdAt >= ttlNanos);
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (entries.size() >= maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        entries.put(key, new Entry(total, System.nanoTime()));
+    }
+
+    /**
+     * 合并连续空白，使仅排版不同的 SQL 共用同一条缓存
+     */
+    private static String normalize(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        boolean space = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                    space = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    record Key(String sql, List<Object> parameters) {
+    }
+
+    private record Entry(long total, long createdAt) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.lance.mybatis;
+
+/**
+ * 分页总数统计方式
+ * <p>
+ * 通过 {@link CountPage} 按查询指定，未指定时使用 mybatis.pagination.count-mode 配置的默认方式
+ * </p>
+ */
+public enum CountMode {
+    /**
+     * 每次执行 COUNT 查询，总数精确
+     */
+    EXACT,
+    /**
+     * 不统计总数，total 为 0
+     */
+    NONE,
+    /**
+     * 按规范化 SQL 和参数缓存 COUNT 结果，缓存有效期内直接使用缓存值（近似）
+     */
+    CACHED,
+    /**
+     * 立即返回页面数据，COUNT 在后台线程执行，结果通过 {@link CountPage#getTotalFuture()} 获取并写入缓存；
+     * 缓存中已有结果时 total 取缓存值（近似），否则为 0
+     */
+    ASYNC,
+    /**
+     * MySQL/MariaDB 下取 EXPLAIN 的预估行数（近似），预估值小于阈值或数据库不支持时退回精确统计
+     */
+    ESTIMATED
+}
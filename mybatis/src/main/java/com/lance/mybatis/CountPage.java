@@ -0,0 +1,72 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.lance.common.model.PageResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 可指定总数统计方式的分页对象
+ * <p>
+ * 由 {@link CountingPaginationInnerInterceptor} 识别，按 {@link CountMode} 统计总数，countMode 为 null 时使用
+ * mybatis.pagination.count-mode 配置的默认方式，并通过 {@link #isTotalExact()} 标识 total 是否精确；
+ * 普通 Page 始终精确统计
+ * </p>
+ */
+public class CountPage<T> extends Page<T> {
+
+    private final CountMode countMode;
+    private boolean totalExact = true;
+    private CompletableFuture<Long> totalFuture;
+
+    public CountPage(long current, long size, CountMode countMode) {
+        super(current, size);
+        this.countMode = countMode;
+    }
+
+    public static <T> CountPage<T> of(long current, long size, CountMode countMode) {
+        return new CountPage<>(current, size, countMode);
+    }
+
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    /**
+     * total 是否为精确值
+     */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    public CountPage<T> setTotalExact(boolean totalExact) {
+        this.totalExact = totalExact;
+        return this;
+    }
+
+    /**
+     * 异步统计的总数，只有 {@link CountMode#ASYNC} 会设置，其余情况为 null
+     */
+    public CompletableFuture<Long> getTotalFuture() {
+        return totalFuture;
+    }
+
+    CountPage<T> setTotalFuture(CompletableFuture<Long> totalFuture) {
+        this.totalFuture = totalFuture;
+        return this;
+    }
+
+    /**
+     * 转换为 PageResult，普通 Page 始终精确统计，total 为精确值
+     */
+    public static <T> PageResult<T> toPageResult(IPage<T> page) {
+        PageResult<T> result = new PageResult<>();
+        result.setRecords(page.getRecords());
+        result.setTotal(page.getTotal());
+        result.setSize(page.getSize());
+        result.setCurrent(page.getCurrent());
+        result.setTotalExact(!(page instanceof CountPage<?> countPage) || countPage.isTotalExact());
+        return result;
+    }
+}
@@ -0,0 +1,287 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 支持多种总数统计方式的分页拦截器
+ * <p>
+ * 在 {@link PaginationInnerInterceptor} 的基础上，按 {@link CountPage#getCountMode()}（未指定时使用默认方式）决定如何得到 total：
+ * - EXACT：与父类相同，执行 COUNT 查询
+ * - NONE：不执行 COUNT
+ * - CACHED：按规范化 SQL 和参数缓存 COUNT 结果
+ * - ASYNC：在后台线程通过独立连接执行 COUNT，结果写入缓存
+ * - ESTIMATED：MySQL/MariaDB 下使用 EXPLAIN 预估行数
+ * 非精确的 total 会将 {@link CountPage#isTotalExact()} 置为 false。
+ * 普通 Page 无法标识 total 是否精确，始终按 EXACT 统计，默认方式只作用于未指定统计方式的 CountPage。
+ * Page 的 searchCount 为 false 或使用 ResultHandler 时，行为与父类一致；指定了 countId 时除 NONE 外均按 EXACT 处理
+ * </p>
+ */
+public class CountingPaginationInnerInterceptor extends PaginationInnerInterceptor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CountingPaginationInnerInterceptor.class);
+
+    private final CountMode defaultMode;
+    private final CountCache countCache;
+    private final long estimateThreshold;
+    private volatile ThreadPoolExecutor asyncExecutor;
+    private volatile boolean closed;
+
+    public CountingPaginationInnerInterceptor(DbType dbType) {
+        this(dbType, CountMode.EXACT, 60, 1024, 10000);
+    }
+
+    /**
+     * @param dbType            数据库类型
+     * @param defaultMode       未指定统计方式的 CountPage 使用的统计方式
+     * @param cacheTtlSeconds   CACHED/ASYNC 结果的缓存时间，单位秒
+     * @param cacheMaxSize      缓存的最大条目数
+     * @param estimateThreshold ESTIMATED 预估行数小于该值时改为精确统计
+     */
+    public CountingPaginationInnerInterceptor(DbType dbType, CountMode defaultMode, long cacheTtlSeconds,
+                                              int cacheMaxSize, long estimateThreshold) {
+        super(dbType);
+        this.defaultMode = defaultMode;
+        this.countCache = new CountCache(TimeUnit.SECONDS.toNanos(cacheTtlSeconds), cacheMaxSize);
+        this.estimateThreshold = estimateThreshold;
+    }
+
+    public CountMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                               ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null || page.getSize() < 0 || !page.searchCount() || resultHandler != Executor.NO_RESULT_HANDLER) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        if (!(page instanceof CountPage<?> countPage)) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        CountMode mode = countPage.getCountMode() != null ? countPage.getCountMode() : defaultMode;
+        if (page.countId() != null && mode != CountMode.NONE) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        switch (mode) {
+            case NONE:
+                markApproximate(countPage);
+                return true;
+            case CACHED:
+                return cachedCount(executor, ms, parameter, rowBounds, resultHandler, boundSql, page, countPage);
+            case ASYNC:
+                return asyncCount(ms, parameter, boundSql, page, countPage);
+            case ESTIMATED:
+                return estimatedCount(executor, ms, parameter, rowBounds, resultHandler, boundSql, page, countPage);
+            default:
+                return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+    }
+
+    private boolean cachedCount(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                                ResultHandler<?> resultHandler, BoundSql boundSql, IPage<?> page, CountPage<?> countPage)
+            throws SQLException {
+        CountCache.Key key = CountCache.key(boundSql.getSql(), parameterValues(ms.getConfiguration(), boundSql, parameter));
+        Long cached = countCache.get(key);
+        if (cached != null) {
+            page.setTotal(cached);
+            markApproximate(countPage);
+            return continuePage(page);
+        }
+        boolean proceed = super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        countCache.put(key, page.getTotal());
+        return proceed;
+    }
+
+    /**
+     * 后台线程不能复用当前 SqlSession 的连接，改为从数据源获取独立连接执行 COUNT，读不到当前事务中未提交的数据
+     */
+    private boolean asyncCount(MappedStatement ms, Object parameter, BoundSql boundSql, IPage<?> page, CountPage<?> countPage) {
+        Configuration configuration = ms.getConfiguration();
+        List<Object> values = parameterValues(configuration, boundSql, parameter);
+        CountCache.Key key = CountCache.key(boundSql.getSql(), values);
+        Long cached = countCache.get(key);
+        markApproximate(countPage);
+        if (cached != null) {
+            page.setTotal(cached);
+            countPage.setTotalFuture(CompletableFuture.completedFuture(cached));
+            return continuePage(page);
+        }
+
+        String countSql = autoCountSql(page, boundSql.getSql());
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        DataSource dataSource = configuration.getEnvironment().getDataSource();
+        JdbcType jdbcTypeForNull = configuration.getJdbcTypeForNull();
+        CompletableFuture<Long> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    long total = querySingleLong(connection, countSql, mappings, values, jdbcTypeForNull, 1);
+                    countCache.put(key, total);
+                    return total;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("异步统计分页总数失败: " + countSql, e);
+                }
+            }, asyncExecutor());
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        countPage.setTotalFuture(future);
+        return true;
+    }
+
+    private boolean estimatedCount(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                                   ResultHandler<?> resultHandler, BoundSql boundSql, IPage<?> page, CountPage<?> countPage)
+            throws SQLException {
+        DbType dbType = JdbcUtils.getDbType(executor);
+        if (dbType == DbType.MYSQL || dbType == DbType.MARIADB) {
+            try {
+                Connection connection = executor.getTransaction().getConnection();
+                List<Object> values = parameterValues(ms.getConfiguration(), boundSql, parameter);
+                long estimate = querySingleLong(connection, "EXPLAIN " + boundSql.getSql(), boundSql.getParameterMappings(),
+                        values, ms.getConfiguration().getJdbcTypeForNull(), -1);
+                if (estimate >= estimateThreshold) {
+                    page.setTotal(estimate);
+                    markApproximate(countPage);
+                    return continuePage(page);
+                }
+            } catch (SQLException e) {
+                log.warn("EXPLAIN 预估分页总数失败，改为精确统计: {}", e.getMessage());
+            }
+        }
+        return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+    }
+
+    private static void markApproximate(CountPage<?> countPage) {
+        countPage.setTotalExact(false);
+    }
+
+    /**
+     * 执行查询并读取第一行的一个数值
+     *
+     * @param column 列序号，-1 表示读取 EXPLAIN 结果的 rows 列
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static long querySingleLong(Connection connection, String sql, List<ParameterMapping> mappings,
+                                        List<Object> values, JdbcType jdbcTypeForNull, int column) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (int i = 0; i < mappings.size(); i++) {
+                ParameterMapping mapping = mappings.get(i);
+                if (mapping.getMode() == ParameterMode.OUT) {
+                    continue;
+                }
+                Object value = values.get(i);
+                JdbcType jdbcType = mapping.getJdbcType();
+                if (value == null && jdbcType == null) {
+                    jdbcType = jdbcTypeForNull;
+                }
+                ((TypeHandler) mapping.getTypeHandler()).setParameter(ps, index++, value, jdbcType);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    return 0;
+                }
+                return column > 0 ? rs.getLong(column) : rs.getLong("rows");
+            }
+        }
+    }
+
+    /**
+     * 按 DefaultParameterHandler 的规则取出 SQL 参数值，OUT 参数位置填 null
+     */
+    private static List<Object> parameterValues(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        if (mappings == null || mappings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            String property = mapping.getProperty();
+            Object value;
+            if (mapping.getMode() == ParameterMode.OUT) {
+                value = null;
+            } else if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * 关闭异步统计线程池，由 Spring 在容器关闭时调用，关闭后 ASYNC 统计的 totalFuture 直接失败
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
+    private ThreadPoolExecutor asyncExecutor() {
+        ThreadPoolExecutor executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new RejectedExecutionException("分页拦截器已关闭");
+                }
+                executor = asyncExecutor;
+                if (executor == null) {
+                    AtomicInteger index = new AtomicInteger();
+                    executor = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256), runnable -> {
+                        Thread thread = new Thread(runnable, "async-count-" + index.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+}
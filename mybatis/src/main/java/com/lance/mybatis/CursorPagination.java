@@ -0,0 +1,116 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.Errors;
+import com.lance.common.model.CursorPageInfo;
+import com.lance.common.model.CursorPageResult;
+import com.lance.common.utils.CursorCodec;
+
+import java.util.List;
+
+/**
+ * 游标（keyset）分页工具类
+ * <p>
+ * 将 {@link CursorPageInfo} 转换为 BaseMapper 查询：
+ * WHERE (sort_column, id) &gt; (?, ?) ORDER BY sort_column, id LIMIT size + 1，
+ * 降序时比较符为 &lt;；多查询一条用于判断是否还有下一页，不执行 count。
+ * 借助 (sort_column, id) 上的索引，每一页都从游标位置直接定位，不再扫描并丢弃前面的 offset 行。
+ * </p>
+ * <p>
+ * 约束：排序列不能为 NULL；传入的 wrapper 只应包含过滤条件，其条件整体加括号后与游标条件 AND 连接，
+ * 排序和 LIMIT 由本类追加，wrapper 查询后不可复用
+ * </p>
+ */
+public final class CursorPagination {
+
+    private CursorPagination() {
+    }
+
+    /**
+     * 按主键游标分页
+     */
+    public static <T> CursorPageResult<T> selectPage(BaseMapper<T> mapper, Class<T> entityClass,
+                                                     QueryWrapper<T> wrapper, CursorPageInfo pageInfo) {
+        return selectPage(mapper, entityClass, wrapper, pageInfo, null, true);
+    }
+
+    /**
+     * 按 (排序列, 主键) 游标分页
+     *
+     * @param mapper      实体 Mapper
+     * @param entityClass 实体类型，用于获取表的主键和字段信息
+     * @param wrapper     过滤条件，可为 null
+     * @param pageInfo    分页参数
+     * @param sortColumn  排序列的数据库列名，为 null 或主键列时只按主键排序
+     * @param asc         是否升序
+     * @return 游标分页结果
+     */
+    public static <T> CursorPageResult<T> selectPage(BaseMapper<T> mapper, Class<T> entityClass, QueryWrapper<T> wrapper,
+                                                     CursorPageInfo pageInfo, String sortColumn, boolean asc) {
+        if (pageInfo.getSize() <= 0) {
+            throw new BusinessException(Errors.ILLEGAL_ARGUMENT_EXCEPTION.getCode(), "分页大小必须大于 0");
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        if (tableInfo == null || !tableInfo.havePK()) {
+            throw new IllegalArgumentException("实体没有主键，无法游标分页: " + entityClass.getName());
+        }
+        String keyColumn = tableInfo.getKeyColumn();
+        String sortProperty = null;
+        if (sortColumn != null && !sortColumn.equalsIgnoreCase(keyColumn)) {
+            sortProperty = tableInfo.getFieldList().stream()
+                    .filter(field -> field.getColumn().equalsIgnoreCase(sortColumn))
+                    .map(TableFieldInfo::getProperty)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("实体 " + entityClass.getName() + " 没有列 " + sortColumn));
+        }
+
+        QueryWrapper<T> query = wrapper != null ? wrapper : new QueryWrapper<>();
+        String operator = asc ? ">" : "<";
+        if (pageInfo.getCursor() != null && !pageInfo.getCursor().isEmpty()) {
+            Object[] values = CursorCodec.decode(pageInfo.getCursor());
+            if (values.length != (sortProperty == null ? 1 : 2)) {
+                throw new BusinessException(Errors.ILLEGAL_ARGUMENT_EXCEPTION.getCode(), "分页游标与排序方式不匹配");
+            }
+            if (!query.isEmptyOfNormal()) {
+                // 调用方条件可能含 OR，整体加括号后再追加游标条件，参数占位符仍指向同一个 wrapper
+                String condition = query.getExpression().getNormal().getSqlSegment();
+                query.getExpression().getNormal().clear();
+                query.apply(condition);
+            }
+            if (sortProperty == null) {
+                query.apply(keyColumn + " " + operator + " {0}", values[0]);
+            } else {
+                query.apply("(" + sortColumn + ", " + keyColumn + ") " + operator + " ({0}, {1})", values[0], values[1]);
+            }
+        }
+        if (sortProperty != null) {
+            query.orderBy(true, asc, sortColumn);
+        }
+        query.orderBy(true, asc, keyColumn);
+        query.last("LIMIT " + (pageInfo.getSize() + 1));
+
+        List<T> records = mapper.selectList(query);
+        boolean hasNext = records.size() > pageInfo.getSize();
+        if (hasNext) {
+            records.remove(records.size() - 1);
+        }
+
+        CursorPageResult<T> result = new CursorPageResult<>();
+        result.setRecords(records);
+        result.setSize(pageInfo.getSize());
+        result.setHasNext(hasNext);
+        if (hasNext) {
+            T last = records.get(records.size() - 1);
+            Object id = tableInfo.getPropertyValue(last, tableInfo.getKeyProperty());
+            result.setNextCursor(sortProperty == null
+                    ? CursorCodec.encode(id)
+                    : CursorCodec.encode(tableInfo.getPropertyValue(last, sortProperty), id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 深分页延迟关联改写拦截器
+ * <p>
+ * 分页 offset 达到阈值时，将分页插件生成的
+ * SELECT cols FROM t WHERE ... ORDER BY ... LIMIT ?, ?
+ * 改写为先在子查询中只按主键定位当前页，再关联回原表读取整行：
+ * SELECT cols FROM t INNER JOIN (SELECT id AS deferred_id FROM t WHERE ... ORDER BY ... LIMIT ?, ?) deferred
+ * ON t.id = deferred.deferred_id ORDER BY ...
+ * 子查询可以只扫描 (过滤列, 排序列, 主键) 上的覆盖索引，被跳过的 offset 行不再回表。
+ * </p>
+ * <p>
+ * 需要注册在分页插件之后；只改写单表、无 DISTINCT/GROUP BY/HAVING/FOR UPDATE、
+ * 查询列和排序中不含参数、排序项都是原表的列、且实体定义了主键的查询，其余查询保持不变。
+ * 只有 offset 达到阈值的查询才会解析 SQL，解析开销相对深分页查询本身可以忽略，因此不缓存改写结果。
+ * 外层查询的 * 改写为 原表.*，结果集不包含子查询的 deferred_id 列
+ * </p>
+ */
+public class DeferredJoinInnerInterceptor implements InnerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredJoinInnerInterceptor.class);
+
+    private static final String DERIVED_ALIAS = "deferred";
+    private static final String DERIVED_KEY = "deferred_id";
+
+    private final long offsetThreshold;
+
+    /**
+     * @param offsetThreshold offset 大于等于该值时改写
+     */
+    public DeferredJoinInnerInterceptor(long offsetThreshold) {
+        this.offsetThreshold = offsetThreshold;
+    }
+
+    public long getOffsetThreshold() {
+        return offsetThreshold;
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null || page.getSize() < 0 || page.offset() < offsetThreshold) {
+            return;
+        }
+        String sql = boundSql.getSql();
+        String rewritten = rewrite(sql);
+        if (!rewritten.equals(sql)) {
+            PluginUtils.mpBoundSql(boundSql).sql(rewritten);
+        }
+    }
+
+    /**
+     * 改写分页 SQL，不满足改写条件时原样返回
+     */
+    static String rewrite(String sql) {
+        Statement statement;
+        try {
+            statement = JsqlParserGlobal.parse(sql);
+        } catch (JSQLParserException e) {
+            log.debug("延迟关联改写跳过，SQL 解析失败: {}", sql);
+            return sql;
+        }
+        if (!(statement instanceof PlainSelect select) || !rewritable(select)) {
+            return sql;
+        }
+        Table table = (Table) select.getFromItem();
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(table.getName());
+        if (tableInfo == null || !tableInfo.havePK()) {
+            return sql;
+        }
+        String keyColumn = tableInfo.getKeyColumn();
+        String tableRef = table.getAlias() != null ? table.getAlias().getName() : table.getFullyQualifiedName();
+        if (!orderByBaseColumns(select, tableInfo, tableRef)) {
+            log.debug("延迟关联改写跳过，排序项不是表的列: {}", sql);
+            return sql;
+        }
+        String orderBy = select.getOrderByElements() == null ? "" : " ORDER BY " + select.getOrderByElements().stream()
+                .map(OrderByElement::toString).collect(Collectors.joining(", "));
+
+        StringBuilder sb = new StringBuilder(sql.length() + 128);
+        sb.append("SELECT ").append(select.getSelectItems().stream()
+                        .map(item -> item.getExpression() instanceof AllColumns && !(item.getExpression() instanceof AllTableColumns)
+                                ? tableRef + ".*" : item.toString())
+                        .collect(Collectors.joining(", ")))
+                .append(" FROM ").append(table)
+                .append(" INNER JOIN (SELECT ").append(tableRef).append('.').append(keyColumn).append(" AS ").append(DERIVED_KEY)
+                .append(" FROM ").append(table);
+        if (select.getWhere() != null) {
+            sb.append(" WHERE ").append(select.getWhere());
+        }
+        sb.append(orderBy).append(select.getLimit())
+                .append(") ").append(DERIVED_ALIAS)
+                .append(" ON ").append(tableRef).append('.').append(keyColumn)
+                .append(" = ").append(DERIVED_ALIAS).append('.').append(DERIVED_KEY)
+                .append(orderBy);
+        return sb.toString();
+    }
+
+    /**
+     * 参数只能出现在 WHERE 和 LIMIT 中，改写后它们的相对顺序不变，参数映射可以原样使用
+     */
+    private static boolean rewritable(PlainSelect select) {
+        if (!(select.getFromItem() instanceof Table) || select.getLimit() == null
+                || (select.getJoins() != null && !select.getJoins().isEmpty())
+                || select.getDistinct() != null || select.getGroupBy() != null || select.getHaving() != null
+                || select.getForMode() != null || select.getWithItemsList() != null
+                || select.getOffset() != null || select.getFetch() != null || select.getIntoTables() != null) {
+            return false;
+        }
+        if (select.getSelectItems().stream().anyMatch(item -> item.toString().contains("?"))) {
+            return false;
+        }
+        return select.getOrderByElements() == null
+                || select.getOrderByElements().stream().noneMatch(element -> element.toString().contains("?"));
+    }
+
+    /**
+     * 子查询只查询主键列，排序项必须是原表的列，不能是查询列的别名、表达式或序号，否则子查询无法执行或排序含义改变
+     */
+    private static boolean orderByBaseColumns(PlainSelect select, TableInfo tableInfo, String tableRef) {
+        if (select.getOrderByElements() == null) {
+            return true;
+        }
+        Set<String> columns = new HashSet<>();
+        columns.add(normalize(tableInfo.getKeyColumn()));
+        tableInfo.getFieldList().forEach(field -> columns.add(normalize(field.getColumn())));
+        Set<String> aliases = new HashSet<>();
+        for (SelectItem<?> item : select.getSelectItems()) {
+            if (item.getAlias() != null && !(item.getExpression() instanceof Column column
+                    && normalize(column.getColumnName()).equals(normalize(item.getAlias().getName())))) {
+                aliases.add(normalize(item.getAlias().getName()));
+            }
+        }
+        for (OrderByElement element : select.getOrderByElements()) {
+            if (!(element.getExpression() instanceof Column column)) {
+                return false;
+            }
+            String name = normalize(column.getColumnName());
+            Table owner = column.getTable();
+            boolean qualified = owner != null && owner.getName() != null;
+            if (qualified ? !normalize(owner.getFullyQualifiedName()).equals(normalize(tableRef))
+                    : aliases.contains(name)) {
+                return false;
+            }
+            if (!columns.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String identifier) {
+        return identifier.replace("`", "").replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+}
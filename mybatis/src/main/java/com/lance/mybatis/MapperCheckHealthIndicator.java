@@ -0,0 +1,54 @@
+package com.lance.mybatis;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mapper 启动检查健康指示器
+ * <p>
+ * 检查尚未完成时为 UNKNOWN，存在失败或超时的 Mapper、或检查本身出错时为 DOWN，否则为 UP；
+ * 详情中包含整体耗时、各状态数量以及每个 Mapper 的状态和耗时
+ * </p>
+ */
+public class MapperCheckHealthIndicator extends AbstractHealthIndicator {
+
+    private final MySQLBootCheckRunner runner;
+
+    public MapperCheckHealthIndicator(MySQLBootCheckRunner runner) {
+        super("MyBatis Mapper 启动检查健康检查失败");
+        this.runner = runner;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        MapperCheckReport report = runner.getLastReport();
+        Throwable error = runner.getLastError();
+        if (report == null) {
+            if (error != null) {
+                builder.down(error);
+            } else {
+                builder.unknown().withDetail("message", "检查尚未完成");
+            }
+            return;
+        }
+        Map<String, Object> mappers = new LinkedHashMap<>();
+        for (MapperCheckReport.Result result : report.getResults()) {
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("status", result.status());
+            detail.put("elapsedMillis", result.elapsedMillis());
+            if (result.error() != null) {
+                detail.put("error", result.error());
+            }
+            mappers.put(result.mapper(), detail);
+        }
+        (report.isHealthy() ? builder.up() : builder.down())
+                .withDetail("elapsedMillis", report.getElapsedMillis())
+                .withDetail("slow", report.count(MapperCheckReport.Status.SLOW))
+                .withDetail("failed", report.count(MapperCheckReport.Status.FAILED))
+                .withDetail("timeout", report.count(MapperCheckReport.Status.TIMEOUT))
+                .withDetail("mappers", mappers);
+    }
+}
@@ -0,0 +1,17 @@
+package com.lance.mybatis;
+
+/**
+ * Mapper 启动检查结果监听器
+ * <p>
+ * 容器中的监听器 Bean 在每次检查完成后收到检查报告，后台检查时在检查线程中回调
+ * </p>
+ */
+public interface MapperCheckListener {
+
+    /**
+     * 检查完成
+     *
+     * @param report 检查报告
+     */
+    void onReport(MapperCheckReport report);
+}
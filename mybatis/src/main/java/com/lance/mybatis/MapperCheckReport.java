@@ -0,0 +1,101 @@
+package com.lance.mybatis;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Mapper 启动检查报告
+ * 汇总每个 Mapper 的检查结果和耗时，慢查询、失败和超时的 Mapper 按耗时倒序列出
+ */
+public class MapperCheckReport {
+
+    /**
+     * 单个 Mapper 的检查状态
+     */
+    public enum Status {
+        /**
+         * 检查通过
+         */
+        OK,
+        /**
+         * 检查通过，但耗时超过慢检查阈值
+         */
+        SLOW,
+        /**
+         * 查询出错
+         */
+        FAILED,
+        /**
+         * 超过单个 Mapper 的检查超时时间
+         */
+        TIMEOUT
+    }
+
+    /**
+     * 单个 Mapper 的检查结果
+     *
+     * @param mapper        Mapper 名称
+     * @param status        检查状态
+     * @param elapsedMillis 检查耗时（毫秒），超时时为超时时间
+     * @param error         错误信息，检查通过时为 null
+     */
+    public record Result(String mapper, Status status, long elapsedMillis, String error) {
+    }
+
+    private final List<Result> results;
+    private final long elapsedMillis;
+
+    public MapperCheckReport(List<Result> results, long elapsedMillis) {
+        this.results = List.copyOf(results);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * 整体检查耗时（毫秒）
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * 慢、失败、超时的检查结果，按耗时倒序
+     */
+    public List<Result> getProblems() {
+        return results.stream()
+                .filter(result -> result.status() != Status.OK)
+                .sorted(Comparator.comparingLong(Result::elapsedMillis).reversed())
+                .toList();
+    }
+
+    public long count(Status status) {
+        return results.stream().filter(result -> result.status() == status).count();
+    }
+
+    /**
+     * 是否没有失败或超时的 Mapper
+     */
+    public boolean isHealthy() {
+        return count(Status.FAILED) == 0 && count(Status.TIMEOUT) == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append("共 ").append(results.size()).append(" 个 Mapper，耗时 ").append(elapsedMillis).append(" ms，")
+                .append("慢 ").append(count(Status.SLOW)).append(" 个，")
+                .append("失败 ").append(count(Status.FAILED)).append(" 个，")
+                .append("超时 ").append(count(Status.TIMEOUT)).append(" 个");
+        for (Result problem : getProblems()) {
+            report.append(System.lineSeparator()).append("  [").append(problem.status()).append("] ")
+                    .append(problem.mapper()).append(' ').append(problem.elapsedMillis()).append(" ms");
+            if (problem.error() != null) {
+                report.append(": ").append(problem.error());
+            }
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.lance.mybatis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Micrometer 的 Mapper 启动检查指标
+ * <p>
+ * 整体检查耗时发布为 mybatis.boot.check 计时器（标签 result=healthy/unhealthy），
+ * 每个 Mapper 的检查耗时发布为 mybatis.boot.check.mapper 计时器（标签 mapper、status）
+ * </p>
+ */
+public class MicrometerMapperCheckListener implements MapperCheckListener {
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+
+    public MicrometerMapperCheckListener(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public void onReport(MapperCheckReport report) {
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Timer.builder("mybatis.boot.check")
+                .description("MyBatis Mapper 启动检查耗时")
+                .tag("result", report.isHealthy() ? "healthy" : "unhealthy")
+                .register(registry)
+                .record(report.getElapsedMillis(), TimeUnit.MILLISECONDS);
+        for (MapperCheckReport.Result result : report.getResults()) {
+            Timer.builder("mybatis.boot.check.mapper")
+                    .description("单个 Mapper 启动检查耗时")
+                    .tag("mapper", result.mapper())
+                    .tag("status", result.status().name())
+                    .register(registry)
+                    .record(result.elapsedMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
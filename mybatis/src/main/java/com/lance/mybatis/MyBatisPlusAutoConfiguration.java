@@ -1,8 +1,14 @@
 package com.lance.mybatis;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.injector.ISqlInjector;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.lance.common.utils.CursorCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -10,23 +16,76 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * MyBatis-Plus 自动配置类
- * 提供 MyBatis-Plus 拦截器和启动检查
+ * 提供 MyBatis-Plus 拦截器、二级缓存指标、启动检查及其健康检查
  */
 @Configuration
 public class MyBatisPlusAutoConfiguration {
 
+    /**
+     * 配置了 pagination.cursor.secret 时用作游标分页的签名密钥，多实例部署需要配置相同的值
+     */
+    public MyBatisPlusAutoConfiguration(@Value("${pagination.cursor.secret:}") String cursorSecret) {
+        if (!cursorSecret.isEmpty()) {
+            CursorCodec.setSecret(cursorSecret);
+        }
+    }
+
+    /**
+     * 支持多种总数统计方式的分页插件
+     * CountPage 未指定统计方式时使用 mybatis.pagination.count-mode，普通 Page 始终精确统计；
+     * 容器关闭时由 Spring 调用 close() 关闭异步统计线程池
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CountingPaginationInnerInterceptor countingPaginationInnerInterceptor(
+            @Value("${mybatis.pagination.count-mode:EXACT}") CountMode countMode,
+            @Value("${mybatis.pagination.count-cache-ttl-seconds:60}") long countCacheTtlSeconds,
+            @Value("${mybatis.pagination.count-cache-max-size:1024}") int countCacheMaxSize,
+            @Value("${mybatis.pagination.estimate-threshold:10000}") long estimateThreshold) {
+        return new CountingPaginationInnerInterceptor(DbType.MYSQL, countMode, countCacheTtlSeconds, countCacheMaxSize,
+                estimateThreshold);
+    }
+
     /**
      * 配置 MyBatis-Plus 拦截器
-     * 添加分页插件
+     * 添加分页插件；开启 mybatis.pagination.deferred-join.enabled 后，offset 达到阈值的深分页改写为延迟关联查询
      */
     @Bean
     @ConditionalOnMissingBean(MybatisPlusInterceptor.class)
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(
+            CountingPaginationInnerInterceptor paginationInnerInterceptor,
+            @Value("${mybatis.pagination.deferred-join.enabled:false}") boolean deferredJoinEnabled,
+            @Value("${mybatis.pagination.deferred-join.offset-threshold:10000}") long deferredJoinOffsetThreshold) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
-        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        interceptor.addInnerInterceptor(paginationInnerInterceptor);
+        if (deferredJoinEnabled) {
+            interceptor.addInnerInterceptor(new DeferredJoinInnerInterceptor(deferredJoinOffsetThreshold));
+        }
         return interceptor;
     }
 
+    /**
+     * SQL 注入器
+     * 为继承 BatchBaseMapper 的 Mapper 注入多行 VALUES 批量插入和 ON DUPLICATE KEY UPDATE 批量写入方法；
+     * 数据库为 MySQL 8.0.19 及以上时可开启 mybatis.batch.upsert-row-alias，避免 VALUES() 写法的废弃警告
+     */
+    @Bean
+    @ConditionalOnMissingBean(ISqlInjector.class)
+    public ISqlInjector batchSqlInjector(@Value("${mybatis.batch.upsert-row-alias:false}") boolean upsertRowAlias) {
+        return new BatchSqlInjector(upsertRowAlias);
+    }
+
+    /**
+     * 流式查询 fetchSize 拦截器
+     * StreamingQuery 发起的查询在 MySQL 下逐行流式读取，其他数据库使用 mybatis.streaming.fetch-size 指定的 fetchSize
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StreamingFetchSizeInterceptor streamingFetchSizeInterceptor(
+            @Value("${mybatis.streaming.fetch-size:1000}") int fetchSize) {
+        return new StreamingFetchSizeInterceptor(fetchSize);
+    }
+
     /**
      * MySQL 启动检查 Runner
      * 检查 MyBatis Mapper 是否正确配置
@@ -40,5 +99,47 @@ public class MyBatisPlusAutoConfiguration {
     public MySQLBootCheckRunner mySQLBootCheckRunner() {
         return new MySQLBootCheckRunner();
     }
-}
 
+    /**
+     * 指标配置
+     * 存在 Micrometer 时将 CaffeineCache 二级缓存的命中、未命中、淘汰统计发布为 cache.* 指标，
+     * Mapper 启动检查耗时发布为 mybatis.boot.check.* 指标
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CaffeineCacheMetricsBinder caffeineCacheMetricsBinder(ObjectProvider<MeterRegistry> registryProvider,
+                                                                     ObjectProvider<SqlSessionFactory> sqlSessionFactories) {
+            return new CaffeineCacheMetricsBinder(registryProvider, sqlSessionFactories);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerMapperCheckListener micrometerMapperCheckListener(ObjectProvider<MeterRegistry> registryProvider) {
+            return new MicrometerMapperCheckListener(registryProvider);
+        }
+    }
+
+    /**
+     * 健康检查配置
+     * 存在 Actuator 且启用启动检查时，将最近一次 Mapper 检查结果发布为 mybatisBootCheck 健康指示器
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.health.HealthIndicator")
+    @ConditionalOnProperty(
+            name = "mybatis.boot.check.enable",
+            havingValue = "true",
+            matchIfMissing = true
+    )
+    static class HealthConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "mybatisBootCheckHealthIndicator")
+        public MapperCheckHealthIndicator mybatisBootCheckHealthIndicator(MySQLBootCheckRunner mySQLBootCheckRunner) {
+            return new MapperCheckHealthIndicator(mySQLBootCheckRunner);
+        }
+    }
+}
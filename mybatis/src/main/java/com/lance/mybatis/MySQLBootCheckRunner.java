@@ -3,21 +3,63 @@ package com.lance.mybatis;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * MySQL 启动检查 Runner
  * 在应用启动时检查 MyBatis Mapper 是否正确配置和可用
+ * <p>
+ * 各 Mapper 并发检查，同时进行的检查数不超过 mybatis.boot.check.parallelism，
+ * 单个 Mapper 超过 mybatis.boot.check.timeout-ms 记为超时，超过 mybatis.boot.check.slow-threshold-ms 记为慢检查，
+ * 检查结束后输出一份汇总报告。单个 Mapper 检查失败只记录在报告中，与 mybatis.boot.check.block 无关
+ * </p>
+ * <p>
+ * mybatis.boot.check.mode=METADATA 时改为一次读取数据库元数据，与各 Mapper 实体的 TableInfo 对比缺少的表和列，
+ * 找不到实体 TableInfo 的 Mapper 仍使用查询检查；配置 mybatis.boot.check.schema-version 后元数据快照按实际连接的数据库地址、用户和版本号
+ * 缓存在 mybatis.boot.check.cache-dir 目录，版本号不变时直接使用本地快照，表结构变更后需要同步修改版本号
+ * </p>
+ * <p>
+ * mybatis.boot.check.block=true 时在 Bean 初始化阶段同步检查；为 false 时检查结果不影响启动，
+ * 因此在应用就绪（ApplicationReadyEvent）后于后台线程执行，不占用启动时间。
+ * 检查结果通过 {@link #getLastReport()}、{@link MapperCheckListener} 以及 {@link MapperCheckHealthIndicator} 获取
+ * </p>
  */
 @Order(Integer.MIN_VALUE)
-public class MySQLBootCheckRunner {
+public class MySQLBootCheckRunner implements ApplicationListener<ApplicationReadyEvent> {
     
     private static final Logger log = LoggerFactory.getLogger(MySQLBootCheckRunner.class);
     
@@ -27,25 +69,78 @@ public class MySQLBootCheckRunner {
     @Value("${mybatis.boot.check.block:true}")
     private boolean block = true;
 
+    @Value("${mybatis.boot.check.parallelism:8}")
+    int parallelism = 8;
+
+    @Value("${mybatis.boot.check.timeout-ms:5000}")
+    long timeoutMillis = 5000;
+
+    @Value("${mybatis.boot.check.slow-threshold-ms:1000}")
+    long slowThresholdMillis = 1000;
+
+    @Value("${mybatis.boot.check.mode:QUERY}")
+    BootCheckMode mode = BootCheckMode.QUERY;
+
+    @Value("${mybatis.boot.check.schema-version:}")
+    String schemaVersion = "";
+
+    @Value("${mybatis.boot.check.cache-dir:${java.io.tmpdir}/mybatis-boot-check}")
+    String cacheDir = Paths.get(System.getProperty("java.io.tmpdir"), "mybatis-boot-check").toString();
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private List<MapperCheckListener> listeners;
+
+    private final AtomicBoolean backgroundStarted = new AtomicBoolean();
+    private volatile MapperCheckReport lastReport;
+    private volatile Throwable lastError;
+
     @PostConstruct
     public void checkMybatisMappers() {
         if (mappers == null || mappers.isEmpty()) {
             log.warn("未找到任何 MyBatis Mapper，请检查配置");
             return;
         }
-        
+        if (!block) {
+            log.info("MyBatis Mapper 检查将在应用就绪后于后台执行，共找到 {} 个 Mapper", mappers.size());
+            return;
+        }
+        runCheck();
+    }
+
+    /**
+     * 非阻塞模式下，应用就绪后在后台线程执行检查
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (block || mappers == null || mappers.isEmpty() || !backgroundStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::runCheck, "mybatis-boot-check");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runCheck() {
         try {
             log.info("开始检查 MyBatis Mapper 配置，共找到 {} 个 Mapper", mappers.size());
-            mappers.forEach(item -> {
-                try {
-//                    item.selectList((Wrapper)(new LambdaQueryWrapper()).last("limit 1"));
-                    item.selectList((Wrapper) new LambdaQueryWrapper().last("limit 1"));
-                } catch (Exception e) {
-                    log.warn("检查 Mapper {} 时出错: {}", item.getClass().getSimpleName(), e.getMessage());
-                }
-            });
-            log.info("MyBatis Mapper 检查完成");
+            MapperCheckReport report = mode == BootCheckMode.METADATA && dataSource != null
+                    ? verifySchema(mappers) : check(mappers);
+            lastReport = report;
+            lastError = null;
+            notifyListeners(report);
+            if (report.getProblems().isEmpty()) {
+                log.info("MyBatis Mapper 检查完成，{}", report);
+            } else {
+                log.warn("MyBatis Mapper 检查完成，{}", report);
+            }
         } catch (Throwable t) {
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            lastError = t;
             if (block) {
                 log.error("MyBatis Mapper 启动检查失败", t);
                 throw new RuntimeException("MyBatis Mapper 启动检查失败", t);
@@ -53,5 +148,222 @@ public class MySQLBootCheckRunner {
             log.error("MyBatis Mapper 存在错误", t);
         }
     }
-}
 
+    /**
+     * 监听器异常只记录警告，不影响检查结果和启动
+     */
+    private void notifyListeners(MapperCheckReport report) {
+        if (listeners == null) {
+            return;
+        }
+        for (MapperCheckListener listener : listeners) {
+            try {
+                listener.onReport(report);
+            } catch (Exception e) {
+                log.warn("MyBatis Mapper 检查监听器 {} 处理报告失败", listener.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 最近一次检查报告，尚未检查时为 null
+     */
+    public MapperCheckReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * 最近一次检查本身出错时的异常，检查成功后清空
+     */
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 并发检查 Mapper
+     * <p>
+     * 检查在大小为并发度的线程池中执行，超时的检查仍占用其线程直到查询返回，因此同时进行的查询数不会超过并发度；
+     * 超时时间从检查实际开始时计算。线程全部被卡住时，排队的检查在整体等待期限（每个线程依次执行各自检查的最长耗时）后记为超时，
+     * 检查结束时未开始的检查被取消，仍在执行的检查线程被中断
+     * </p>
+     */
+    MapperCheckReport check(List<BaseMapper<?>> targets) throws InterruptedException {
+        long start = System.nanoTime();
+        int threads = Math.max(1, Math.min(parallelism, targets.size()));
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mybatis-boot-check-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<String> names = new ArrayList<>(targets.size());
+            List<CompletableFuture<MapperCheckReport.Result>> futures = new ArrayList<>(targets.size());
+            for (BaseMapper<?> mapper : targets) {
+                String name = mapperName(mapper);
+                CompletableFuture<MapperCheckReport.Result> future = new CompletableFuture<>();
+                executor.execute(() -> {
+                    future.completeOnTimeout(new MapperCheckReport.Result(name, MapperCheckReport.Status.TIMEOUT,
+                            timeoutMillis, "检查超过 " + timeoutMillis + " ms"), timeoutMillis, TimeUnit.MILLISECONDS);
+                    future.complete(checkMapper(name, mapper));
+                });
+                names.add(name);
+                futures.add(future);
+            }
+            long rounds = (targets.size() + threads - 1) / threads;
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis * (rounds + 1));
+            List<MapperCheckReport.Result> results = new ArrayList<>(targets.size());
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(names.get(i), futures.get(i), deadline));
+            }
+            return new MapperCheckReport(results, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MapperCheckReport.Result await(String name, CompletableFuture<MapperCheckReport.Result> future, long deadline)
+            throws InterruptedException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return new MapperCheckReport.Result(name, MapperCheckReport.Status.TIMEOUT, timeoutMillis,
+                    "检查线程均被占用，未能在期限内完成检查");
+        } catch (ExecutionException e) {
+            return new MapperCheckReport.Result(name, MapperCheckReport.Status.FAILED, 0,
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    /**
+     * 按元数据检查 Mapper 实体对应的表和列，找不到 TableInfo 的 Mapper 使用查询检查
+     */
+    MapperCheckReport verifySchema(List<BaseMapper<?>> targets) throws InterruptedException {
+        long start = System.nanoTime();
+        List<MapperCheckReport.Result> results = new ArrayList<>(targets.size());
+        List<BaseMapper<?>> fallback = new ArrayList<>();
+        SchemaSnapshot snapshot = null;
+        String snapshotError = null;
+        for (BaseMapper<?> mapper : targets) {
+            Class<?> entityType = ResolvableType.forClass(mapperType(mapper)).as(BaseMapper.class).resolveGeneric(0);
+            TableInfo tableInfo = entityType == null ? null : TableInfoHelper.getTableInfo(entityType);
+            if (tableInfo == null) {
+                fallback.add(mapper);
+                continue;
+            }
+            if (snapshot == null && snapshotError == null) {
+                try {
+                    snapshot = snapshot();
+                } catch (SQLException e) {
+                    snapshotError = "读取数据库元数据失败: " + e.getMessage();
+                    log.warn(snapshotError);
+                }
+            }
+            results.add(snapshot == null
+                    ? new MapperCheckReport.Result(mapperName(mapper), MapperCheckReport.Status.FAILED, 0, snapshotError)
+                    : compare(mapperName(mapper), tableInfo, snapshot));
+        }
+        if (!fallback.isEmpty()) {
+            results.addAll(check(fallback).getResults());
+        }
+        return new MapperCheckReport(results, elapsedMillis(start));
+    }
+
+    private MapperCheckReport.Result compare(String name, TableInfo tableInfo, SchemaSnapshot snapshot) {
+        Set<String> columns = snapshot.columns(tableInfo.getTableName());
+        if (columns == null) {
+            return new MapperCheckReport.Result(name, MapperCheckReport.Status.FAILED, 0,
+                    "表 " + tableInfo.getTableName() + " 不存在");
+        }
+        Set<String> missing = new LinkedHashSet<>();
+        if (tableInfo.havePK()) {
+            missing.add(SchemaSnapshot.normalize(tableInfo.getKeyColumn()));
+        }
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            missing.add(SchemaSnapshot.normalize(field.getColumn()));
+        }
+        missing.removeAll(columns);
+        if (!missing.isEmpty()) {
+            return new MapperCheckReport.Result(name, MapperCheckReport.Status.FAILED, 0,
+                    "表 " + tableInfo.getTableName() + " 缺少列: " + String.join(", ", missing));
+        }
+        return new MapperCheckReport.Result(name, MapperCheckReport.Status.OK, 0, null);
+    }
+
+    /**
+     * 读取表结构快照，配置了版本号时优先使用本地缓存，本地缓存读写失败不影响检查。
+     * 缓存按实际连接的数据库地址和用户区分，取不到地址时不使用缓存
+     */
+    private SchemaSnapshot snapshot() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            Path file = snapshotFile(connection.getMetaData());
+            if (file != null) {
+                try {
+                    SchemaSnapshot cached = SchemaSnapshot.read(file);
+                    if (cached != null) {
+                        log.info("使用本地表结构快照 {}，版本 {}", file, schemaVersion);
+                        return cached;
+                    }
+                } catch (IOException e) {
+                    log.warn("读取本地表结构快照 {} 失败: {}", file, e.getMessage());
+                }
+            }
+            SchemaSnapshot snapshot = SchemaSnapshot.load(connection);
+            if (file != null) {
+                try {
+                    snapshot.write(file);
+                } catch (IOException e) {
+                    log.warn("保存本地表结构快照 {} 失败: {}", file, e.getMessage());
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private Path snapshotFile(DatabaseMetaData metaData) throws SQLException {
+        if (schemaVersion == null || schemaVersion.isBlank()) {
+            return null;
+        }
+        String url = metaData.getURL();
+        if (url == null || url.isBlank()) {
+            log.info("无法获取数据源地址，不使用本地表结构快照");
+            return null;
+        }
+        String key = url + "\n" + metaData.getUserName() + "\n" + schemaVersion;
+        return Paths.get(cacheDir, "schema-" + UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + ".properties");
+    }
+
+    private MapperCheckReport.Result checkMapper(String name, BaseMapper<?> mapper) {
+        long start = System.nanoTime();
+        try {
+            mapper.selectList((Wrapper) new LambdaQueryWrapper().last("limit 1"));
+        } catch (Exception e) {
+            return new MapperCheckReport.Result(name, MapperCheckReport.Status.FAILED, elapsedMillis(start),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        long elapsed = elapsedMillis(start);
+        MapperCheckReport.Status status = elapsed >= slowThresholdMillis
+                ? MapperCheckReport.Status.SLOW : MapperCheckReport.Status.OK;
+        return new MapperCheckReport.Result(name, status, elapsed, null);
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static String mapperName(BaseMapper<?> mapper) {
+        return mapperType(mapper).getSimpleName();
+    }
+
+    /**
+     * Mapper 是 JDK 代理，取其实现的 Mapper 接口
+     */
+    private static Class<?> mapperType(BaseMapper<?> mapper) {
+        for (Class<?> type : mapper.getClass().getInterfaces()) {
+            if (BaseMapper.class.isAssignableFrom(type)) {
+                return type;
+            }
+        }
+        return mapper.getClass();
+    }
+}
@@ -0,0 +1,120 @@
+package com.lance.mybatis;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 数据库表结构快照
+ * <p>
+ * 记录当前库所有表的列名（统一小写），MySQL/MariaDB 通过一次 information_schema 查询读取，
+ * 其他数据库通过 {@link DatabaseMetaData#getColumns} 读取；可保存为本地文件供下次启动复用
+ * </p>
+ */
+final class SchemaSnapshot {
+
+    private static final String MYSQL_COLUMNS_SQL =
+            "SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()";
+
+    private final Map<String, Set<String>> tables;
+
+    private SchemaSnapshot(Map<String, Set<String>> tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * 从数据库读取快照
+     */
+    static SchemaSnapshot load(Connection connection) throws SQLException {
+        Map<String, Set<String>> tables = new HashMap<>();
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        if (product.contains("mysql") || product.contains("mariadb")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(MYSQL_COLUMNS_SQL)) {
+                while (rs.next()) {
+                    add(tables, rs.getString(1), rs.getString(2));
+                }
+            }
+        } else {
+            try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(), "%", "%")) {
+                while (rs.next()) {
+                    add(tables, rs.getString("TABLE_NAME"), rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+        return new SchemaSnapshot(tables);
+    }
+
+    /**
+     * 从本地文件读取快照，文件不存在时返回 null
+     */
+    static SchemaSnapshot read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Set<String>> tables = new HashMap<>();
+        for (String table : properties.stringPropertyNames()) {
+            String columns = properties.getProperty(table);
+            tables.put(table, columns.isEmpty() ? new HashSet<>() : new HashSet<>(Arrays.asList(columns.split(","))));
+        }
+        return new SchemaSnapshot(tables);
+    }
+
+    /**
+     * 写入本地文件，先写临时文件再替换，避免并发启动的实例读到不完整的文件
+     */
+    void write(Path file) throws IOException {
+        Properties properties = new Properties();
+        tables.forEach((table, columns) -> properties.setProperty(table, String.join(",", columns)));
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 表的列名集合，表不存在时返回 null
+     */
+    Set<String> columns(String table) {
+        return tables.get(normalize(table));
+    }
+
+    /**
+     * 去掉库名前缀和引号并转为小写
+     */
+    static String normalize(String name) {
+        String normalized = name.replace("`", "").replace("\"", "").trim();
+        int dot = normalized.lastIndexOf('.');
+        return (dot >= 0 ? normalized.substring(dot + 1) : normalized).toLowerCase(Locale.ROOT);
+    }
+
+    private static void add(Map<String, Set<String>> tables, String table, String column) {
+        tables.computeIfAbsent(normalize(table), key -> new HashSet<>()).add(normalize(column));
+    }
+}
@@ -0,0 +1,72 @@
+package com.lance.mybatis;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * 流式查询 fetchSize 拦截器
+ * <p>
+ * 只对 {@link StreamingQuery} 发起的查询生效：MySQL 驱动设置 fetchSize 为 Integer.MIN_VALUE，逐行从服务端读取结果；
+ * 其他数据库（包括 MySQL 连接参数开启 useCursorFetch 的场景）设置为正数的 fetchSize，由驱动按批获取。
+ * 数据库类型按连接元数据判断
+ * </p>
+ */
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+public class StreamingFetchSizeInterceptor implements Interceptor {
+
+    private static final ThreadLocal<Boolean> STREAMING = new ThreadLocal<>();
+
+    private final int fetchSize;
+
+    /**
+     * @param fetchSize 非 MySQL 逐行流式时使用的 fetchSize
+     */
+    public StreamingFetchSizeInterceptor(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (Boolean.TRUE.equals(STREAMING.get()) && result instanceof Statement statement) {
+            statement.setFetchSize(resolveFetchSize((Connection) invocation.getArgs()[0]));
+        }
+        return result;
+    }
+
+    private int resolveFetchSize(Connection connection) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        String product = connection.getMetaData().getDatabaseProductName();
+        boolean mysql = product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+        if (mysql && (url == null || !url.toLowerCase(Locale.ROOT).contains("usecursorfetch=true"))) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    /**
+     * 在流式标记下执行查询
+     */
+    static <R> R streaming(Supplier<R> query) {
+        Boolean previous = STREAMING.get();
+        STREAMING.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            if (previous == null) {
+                STREAMING.remove();
+            } else {
+                STREAMING.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.lance.mybatis;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 流式查询工具类
+ * <p>
+ * 逐行读取 BaseMapper 查询结果，内存占用与结果总行数无关，适用于报表导出等百万级数据读取：
+ * - {@link #forEach}、{@link #forEachBatch}：基于 ResultHandler 回调，使用 Mapper 当前的 SqlSession（可参与 Spring 事务），方法返回时资源已释放；
+ * 批量回调在读取线程中同步执行，回调处理完成前不会继续读取，处理速度天然约束读取速度
+ * - {@link #stream}：基于 Cursor，打开独立的 SqlSession，必须在 try-with-resources 中使用，关闭 Stream 时关闭 Cursor 和 SqlSession
+ * 配合 {@link StreamingFetchSizeInterceptor} 使用 MySQL 流式读取。
+ * </p>
+ * <p>
+ * MySQL 逐行流式读取期间同一连接不能执行其他查询，回调中需要访问数据库时请使用其他连接，或在连接参数中开启 useCursorFetch=true
+ * </p>
+ */
+public final class StreamingQuery {
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * 逐行回调查询结果
+     *
+     * @param mapper   实体 Mapper
+     * @param wrapper  查询条件，可为 null
+     * @param consumer 每行回调
+     */
+    public static <T> void forEach(BaseMapper<T> mapper, Wrapper<T> wrapper, Consumer<T> consumer) {
+        StreamingFetchSizeInterceptor.streaming(() -> {
+            mapper.selectList(wrapper, context -> consumer.accept(context.getResultObject()));
+            return null;
+        });
+    }
+
+    /**
+     * 分批回调查询结果
+     *
+     * @param mapper    实体 Mapper
+     * @param wrapper   查询条件，可为 null
+     * @param batchSize 每批条数
+     * @param handler   每批回调，返回 false 时停止读取；每批都是新的 List，回调可以保留
+     * @return 读取的总行数
+     */
+    public static <T> long forEachBatch(BaseMapper<T> mapper, Wrapper<T> wrapper, int batchSize, Predicate<List<T>> handler) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        BatchHandler<T> batchHandler = new BatchHandler<>(batchSize, handler);
+        StreamingFetchSizeInterceptor.streaming(() -> {
+            mapper.selectList(wrapper, batchHandler);
+            return null;
+        });
+        batchHandler.flush();
+        return batchHandler.count;
+    }
+
+    /**
+     * 以 Stream 方式读取查询结果，调用方必须关闭返回的 Stream
+     *
+     * @param sqlSessionFactory SqlSession 工厂
+     * @param mapperType        Mapper 接口类型
+     * @param wrapper           查询条件，可为 null
+     * @return 结果 Stream
+     */
+    public static <T> Stream<T> stream(SqlSessionFactory sqlSessionFactory, Class<? extends BaseMapper<T>> mapperType,
+                                       Wrapper<T> wrapper) {
+        SqlSession session = sqlSessionFactory.openSession();
+        try {
+            Map<String, Object> parameter = new HashMap<>(2);
+            parameter.put(Constants.WRAPPER, wrapper);
+            Cursor<T> cursor = StreamingFetchSizeInterceptor.streaming(
+                    () -> session.selectCursor(mapperType.getName() + ".selectList", parameter));
+            return StreamSupport.stream(cursor.spliterator(), false).onClose(() -> {
+                try {
+                    cursor.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    session.close();
+                }
+            });
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 按批收集结果，批满时回调；每批使用新的 List
+     */
+    private static final class BatchHandler<T> implements ResultHandler<T> {
+        private final int batchSize;
+        private final Predicate<List<T>> handler;
+        private List<T> batch;
+        private long count;
+        private boolean stopped;
+
+        private BatchHandler(int batchSize, Predicate<List<T>> handler) {
+            this.batchSize = batchSize;
+            this.handler = handler;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void handleResult(ResultContext<? extends T> context) {
+            batch.add(context.getResultObject());
+            count++;
+            if (batch.size() == batchSize) {
+                List<T> full = batch;
+                batch = new ArrayList<>(batchSize);
+                if (!handler.test(full)) {
+                    stopped = true;
+                    context.stop();
+                }
+            }
+        }
+
+        private void flush() {
+            if (!stopped && !batch.isEmpty()) {
+                handler.test(batch);
+            }
+        }
+    }
+}
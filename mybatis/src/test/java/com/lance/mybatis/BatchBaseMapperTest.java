@@ -0,0 +1,162 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.lance.mybatis.test.TestApplication;
+import com.lance.mybatis.test.TestBatchMapper;
+import com.lance.mybatis.test.TestEntity;
+
+/**
+ * 批量写入测试类
+ * 测试 BatchBaseMapper 的批量插入、主键回填、分批执行和 upsert，并对比逐条插入的吞吐量
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=false",
+        "spring.datasource.url=jdbc:h2:mem:batch_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")"
+})
+class BatchBaseMapperTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchBaseMapperTest.class);
+
+    @Autowired
+    private TestBatchMapper testBatchMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        testBatchMapper.delete(null);
+        jdbcTemplate.execute("ALTER TABLE test_entity ALTER COLUMN id RESTART WITH 1");
+    }
+
+    private static List<TestEntity> entities(int count, String prefix) {
+        List<TestEntity> entities = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            entities.add(new TestEntity(prefix + i, "描述" + i));
+        }
+        return entities;
+    }
+
+    /**
+     * TC-037: 测试批量插入并回填自增主键
+     * 验证单条语句插入整批数据，自增主键按顺序回填到实体
+     */
+    @Test
+    void testInsertBatchWithGeneratedKeys() {
+        List<TestEntity> entities = entities(10, "实体");
+
+        int rows = testBatchMapper.insertBatch(entities);
+
+        assertEquals(10, rows);
+        for (int i = 0; i < entities.size(); i++) {
+            assertNotNull(entities.get(i).getId(), "自增主键应该回填");
+            assertEquals(i + 1L, entities.get(i).getId());
+        }
+        assertEquals("实体3", testBatchMapper.selectById(3L).getName());
+    }
+
+    /**
+     * TC-038: 测试按批插入
+     * 验证按 batchSize 拆分执行，所有数据写入且主键回填，空集合直接返回 0
+     */
+    @Test
+    void testInsertBatchInChunks() {
+        List<TestEntity> entities = entities(25, "实体");
+
+        int rows = testBatchMapper.insertBatch(entities, 10);
+
+        assertEquals(25, rows);
+        assertEquals(25L, testBatchMapper.selectCount(null));
+        assertEquals(25L, entities.get(24).getId());
+        assertEquals(0, testBatchMapper.insertBatch(new ArrayList<>(), 10));
+    }
+
+    /**
+     * TC-039: 测试批量插入或更新
+     * 验证主键已存在的行被更新，主键为空的行被插入
+     */
+    @Test
+    void testUpsertBatch() {
+        List<TestEntity> entities = entities(3, "实体");
+        testBatchMapper.insertBatch(entities);
+
+        entities.get(0).setName("更新1");
+        entities.get(2).setDescription("更新描述3");
+        List<TestEntity> upserts = new ArrayList<>(entities);
+        upserts.add(new TestEntity("新增4", "描述4"));
+        testBatchMapper.upsertBatch(upserts, 2);
+
+        assertEquals(4L, testBatchMapper.selectCount(null));
+        assertEquals("更新1", testBatchMapper.selectById(1L).getName());
+        assertEquals("更新描述3", testBatchMapper.selectById(3L).getDescription());
+        assertEquals("实体2", testBatchMapper.selectById(2L).getName());
+        assertEquals("新增4", testBatchMapper.selectById(4L).getName());
+    }
+
+    /**
+     * TC-065: 测试 upsert 更新子句的两种写法
+     * 默认使用 VALUES(col)，开启行别名后使用 AS new_row 和 new_row.col
+     */
+    @Test
+    void testDuplicateKeyUpdateClause() {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(TestEntity.class);
+
+        assertEquals("\nON DUPLICATE KEY UPDATE name=VALUES(name),description=VALUES(description)",
+                BatchInsertMethod.duplicateKeyUpdate(tableInfo, false));
+        assertEquals(" AS new_row\nON DUPLICATE KEY UPDATE name=new_row.name,description=new_row.description",
+                BatchInsertMethod.duplicateKeyUpdate(tableInfo, true));
+    }
+
+    /**
+     * TC-040: 对比批量插入和逐条插入的吞吐量
+     * 分别逐条插入和按批插入 1 万条数据，吞吐量只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testThroughput() {
+        int count = 10_000;
+
+        long start = System.nanoTime();
+        for (TestEntity entity : entities(count, "逐条")) {
+            testBatchMapper.insert(entity);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        testBatchMapper.insertBatch(entities(count, "批量"), 500);
+        long batchNanos = System.nanoTime() - start;
+
+        assertEquals(2L * count, testBatchMapper.selectCount(null));
+        log.info("插入 {} 条: 逐条 {} 条/秒, 批量(500) {} 条/秒", count,
+                count * 1_000_000_000L / singleNanos, count * 1_000_000_000L / batchNanos);
+    }
+}
@@ -0,0 +1,178 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.lance.mybatis.test.TestApplication;
+import com.lance.mybatis.test.TestCachedMapper;
+import com.lance.mybatis.test.TestEntity;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Caffeine 二级缓存测试类
+ * 测试 CaffeineCache 的命中、写入失效、容量淘汰、刷新和指标发布
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class, CaffeineCacheTest.MetricsConfig.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=false",
+        "spring.datasource.url=jdbc:h2:mem:cache_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")"
+})
+class CaffeineCacheTest {
+
+    private static final String NAMESPACE = TestCachedMapper.class.getName();
+
+    @Autowired
+    private TestCachedMapper testCachedMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 通过缓存 Mapper 清空数据，同时清空该命名空间的二级缓存
+     */
+    @BeforeEach
+    void setUp() {
+        testCachedMapper.delete(null);
+    }
+
+    /**
+     * TC-044: 测试二级缓存命中
+     * 查询后绕过 MyBatis 直接修改数据库，再次查询应命中缓存返回旧值
+     */
+    @Test
+    void testCacheHit() {
+        TestEntity entity = insert("缓存实体");
+        new CaffeineCache(NAMESPACE).initialize();
+        CaffeineCache cache = namespaceCache();
+        long hits = cache.stats().hitCount();
+
+        assertEquals("缓存实体", testCachedMapper.selectById(entity.getId()).getName());
+        jdbcTemplate.update("UPDATE test_entity SET name = ? WHERE id = ?", "已修改", entity.getId());
+
+        assertEquals("缓存实体", testCachedMapper.selectById(entity.getId()).getName(), "第二次查询应该命中二级缓存");
+        assertTrue(cache.stats().hitCount() > hits, "命中次数应该增加，同名的其他实例不应影响查找");
+    }
+
+    /**
+     * TC-045: 测试同一命名空间写入后缓存失效
+     * 通过缓存 Mapper 更新数据后，再次查询应返回新值
+     */
+    @Test
+    void testInvalidateOnWrite() {
+        TestEntity entity = insert("原始名称");
+        assertEquals("原始名称", testCachedMapper.selectById(entity.getId()).getName());
+
+        entity.setName("更新名称");
+        testCachedMapper.updateById(entity);
+
+        assertEquals("更新名称", testCachedMapper.selectById(entity.getId()).getName(), "写入后缓存应该被清空");
+    }
+
+    /**
+     * TC-046: 测试容量淘汰和刷新
+     * 超过最大容量时淘汰条目；写入超过刷新间隔后只放行一个读取者重新查询，其余读取者得到旧值
+     */
+    @Test
+    void testEvictionAndRefresh() throws InterruptedException {
+        CaffeineCache bounded = new CaffeineCache("bounded");
+        bounded.setMaximumSize(100);
+        bounded.initialize();
+        for (int i = 0; i < 1000; i++) {
+            bounded.putObject(i, "值" + i);
+        }
+        bounded.nativeCache().cleanUp();
+        assertTrue(bounded.getSize() <= 100, "缓存大小不应超过最大容量");
+        assertTrue(bounded.stats().evictionCount() > 0, "应该记录淘汰次数");
+
+        CaffeineCache refreshing = new CaffeineCache("refreshing");
+        refreshing.setRefreshAfterWrite("100ms");
+        refreshing.initialize();
+        refreshing.putObject("key", "旧值");
+        assertEquals("旧值", refreshing.getObject("key"));
+        Thread.sleep(150);
+        assertNull(refreshing.getObject("key"), "超过刷新间隔后第一个读取者应该未命中");
+        assertEquals("旧值", refreshing.getObject("key"), "刷新期间其他读取者应该得到旧值");
+        refreshing.putObject("key", "新值");
+        assertEquals("新值", refreshing.getObject("key"));
+
+        refreshing.putObject("key", null);
+        assertNull(refreshing.getObject("key"), "写入 null 应该移除条目");
+    }
+
+    /**
+     * TC-047: 测试缓存指标发布
+     * 验证命名空间缓存的命中、未命中、淘汰指标已注册到 MeterRegistry
+     */
+    @Test
+    void testMetrics() {
+        TestEntity entity = insert("指标实体");
+        testCachedMapper.selectById(entity.getId());
+        testCachedMapper.selectById(entity.getId());
+
+        FunctionCounter hits = meterRegistry.find("cache.gets").tags("cache", NAMESPACE, "result", "hit").functionCounter();
+        FunctionCounter misses = meterRegistry.find("cache.gets").tags("cache", NAMESPACE, "result", "miss").functionCounter();
+        assertNotNull(hits, "应该发布命中指标");
+        assertNotNull(misses, "应该发布未命中指标");
+        assertTrue(hits.count() >= 1, "命中次数应该大于 0");
+        assertTrue(misses.count() >= 1, "未命中次数应该大于 0");
+        assertNotNull(meterRegistry.find("cache.evictions").tag("cache", NAMESPACE).functionCounter(), "应该发布淘汰指标");
+        assertEquals(namespaceCache().stats().hitCount(), (long) hits.count(), "指标应该绑定当前 SqlSessionFactory 的缓存");
+    }
+
+    private CaffeineCache namespaceCache() {
+        CaffeineCache cache = CaffeineCache.unwrap(sqlSessionFactory.getConfiguration().getCache(NAMESPACE));
+        assertNotNull(cache, "应该从 Configuration 中取出 CaffeineCache");
+        return cache;
+    }
+
+    private TestEntity insert(String name) {
+        TestEntity entity = new TestEntity();
+        entity.setName(name);
+        entity.setDescription("二级缓存测试");
+        testCachedMapper.insert(entity);
+        return entity;
+    }
+
+    @Configuration
+    static class MetricsConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.lance.mybatis.test.TestApplication;
+import com.lance.mybatis.test.TestEntity;
+import com.lance.mybatis.test.TestMapper;
+
+/**
+ * 深分页延迟关联改写测试类
+ * 测试 DeferredJoinInnerInterceptor 的改写条件、结果正确性，并对比改写前后的深分页耗时
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=false",
+        "mybatis.pagination.deferred-join.enabled=true",
+        "mybatis.pagination.deferred-join.offset-threshold=1000",
+        "spring.datasource.url=jdbc:h2:mem:deferred_join_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")",
+        "CREATE INDEX IF NOT EXISTS idx_test_entity_name_id ON test_entity (name, id)"
+})
+class DeferredJoinInnerInterceptorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredJoinInnerInterceptorTest.class);
+
+    @Autowired
+    private TestMapper testMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MybatisPlusInterceptor mybatisPlusInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        testMapper.delete(null);
+        jdbcTemplate.execute("ALTER TABLE test_entity ALTER COLUMN id RESTART WITH 1");
+    }
+
+    private void prepareTestData(int count) {
+        jdbcTemplate.execute("INSERT INTO test_entity (name, description) "
+                + "SELECT CONCAT('实体', MOD(X, 10)), CONCAT('描述', X) FROM SYSTEM_RANGE(1, " + count + ")");
+    }
+
+    /**
+     * TC-034: 测试改写后的 SQL 结构
+     * 验证单表分页查询被改写为主键子查询关联回表，多表、分组查询保持不变，且插件注册在分页插件之后
+     */
+    @Test
+    void testRewriteSql() {
+        String rewritten = DeferredJoinInnerInterceptor.rewrite(
+                "SELECT id, name, description FROM test_entity WHERE name <> ? ORDER BY name DESC, id DESC LIMIT ?, ?");
+        assertEquals("SELECT id, name, description FROM test_entity INNER JOIN (SELECT test_entity.id AS deferred_id "
+                + "FROM test_entity WHERE name <> ? ORDER BY name DESC, id DESC LIMIT ?, ?) deferred "
+                + "ON test_entity.id = deferred.deferred_id ORDER BY name DESC, id DESC", rewritten);
+
+        String grouped = "SELECT name, COUNT(*) FROM test_entity GROUP BY name LIMIT ?, ?";
+        assertEquals(grouped, DeferredJoinInnerInterceptor.rewrite(grouped));
+        String joined = "SELECT a.id FROM test_entity a JOIN test_entity b ON a.id = b.id LIMIT ?, ?";
+        assertEquals(joined, DeferredJoinInnerInterceptor.rewrite(joined));
+
+        List<?> interceptors = mybatisPlusInterceptor.getInterceptors();
+        assertTrue(interceptors.get(interceptors.size() - 1) instanceof DeferredJoinInnerInterceptor);
+    }
+
+    /**
+     * TC-062: 测试排序项不是表的列时不改写
+     * 按查询列别名、表达式或序号排序时子查询无法解析排序项，保持原 SQL；按带表别名的列排序仍然改写
+     */
+    @Test
+    void testOrderByNonColumnNotRewritten() {
+        String byAlias = "SELECT id, CONCAT(name, description) AS label FROM test_entity ORDER BY label LIMIT ?, ?";
+        assertEquals(byAlias, DeferredJoinInnerInterceptor.rewrite(byAlias));
+        String byShadowingAlias = "SELECT id, description AS name FROM test_entity ORDER BY name LIMIT ?, ?";
+        assertEquals(byShadowingAlias, DeferredJoinInnerInterceptor.rewrite(byShadowingAlias));
+        String byExpression = "SELECT id, name FROM test_entity ORDER BY LENGTH(name) LIMIT ?, ?";
+        assertEquals(byExpression, DeferredJoinInnerInterceptor.rewrite(byExpression));
+        String byOrdinal = "SELECT id, name FROM test_entity ORDER BY 2 LIMIT ?, ?";
+        assertEquals(byOrdinal, DeferredJoinInnerInterceptor.rewrite(byOrdinal));
+
+        prepareTestData(50);
+        String byQualifiedColumn = "SELECT t.id, t.name AS name FROM test_entity t ORDER BY t.name, t.id LIMIT 10, 5";
+        String rewritten = DeferredJoinInnerInterceptor.rewrite(byQualifiedColumn);
+        assertTrue(rewritten.contains("INNER JOIN"), "按表的列排序时应该改写");
+        assertEquals(jdbcTemplate.queryForList(byQualifiedColumn), jdbcTemplate.queryForList(rewritten));
+    }
+
+    /**
+     * TC-064: 测试 SELECT * 改写后结果集列不变
+     * 外层查询的 * 改写为 原表.*，结果集不包含子查询的 deferred_id 列，与原 SQL 结果一致
+     */
+    @Test
+    void testSelectAllColumns() {
+        prepareTestData(50);
+        String original = "SELECT * FROM test_entity WHERE name <> '实体0' ORDER BY name, id LIMIT 10, 5";
+        String rewritten = DeferredJoinInnerInterceptor.rewrite(original);
+
+        assertTrue(rewritten.startsWith("SELECT test_entity.* FROM test_entity INNER JOIN"), rewritten);
+        assertEquals(jdbcTemplate.queryForList(original), jdbcTemplate.queryForList(rewritten), "改写前后结果集应该一致");
+    }
+
+    /**
+     * TC-035: 测试深分页改写后结果正确
+     * 验证 offset 超过阈值的带条件、排序分页查询结果与直接 LIMIT offset 查询一致，浅分页不受影响
+     */
+    @Test
+    void testDeepPageResult() {
+        prepareTestData(5000);
+
+        for (long current : new long[]{2, 150, 224}) {
+            Page<TestEntity> page = testMapper.selectPage(new Page<>(current, 20),
+                    new QueryWrapper<TestEntity>().ne("name", "实体0").orderByDesc("name").orderByAsc("id"));
+            List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM test_entity WHERE name <> '实体0' "
+                    + "ORDER BY name DESC, id ASC LIMIT 20 OFFSET " + (current - 1) * 20, Long.class);
+
+            assertEquals(4500, page.getTotal());
+            assertEquals(expected, page.getRecords().stream().map(TestEntity::getId).toList(), "第 " + current + " 页数据应该一致");
+            assertTrue(page.getRecords().stream().allMatch(entity -> entity.getDescription() != null), "应该回表读取整行");
+        }
+    }
+
+    /**
+     * TC-036: 对比深分页改写前后的耗时
+     * 在 20 万条数据上分别执行原始 LIMIT offset 查询和延迟关联查询，耗时只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testDeepPageCost() {
+        prepareTestData(200_000);
+        String original = "SELECT id, name, description FROM test_entity WHERE name <> '实体0' "
+                + "ORDER BY name, id LIMIT 179000, 20";
+        String rewritten = DeferredJoinInnerInterceptor.rewrite(original);
+
+        assertEquals(jdbcTemplate.queryForList(original), jdbcTemplate.queryForList(rewritten));
+        log.info("深分页 offset=179000: 原始查询 {} µs, 延迟关联 {} µs", time(original), time(rewritten));
+    }
+
+    private long time(String sql) {
+        jdbcTemplate.queryForList(sql);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.queryForList(sql);
+        }
+        return (System.nanoTime() - start) / 5_000;
+    }
+}
@@ -0,0 +1,164 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.lance.common.model.PageResult;
+import com.lance.mybatis.test.TestApplication;
+import com.lance.mybatis.test.TestEntity;
+import com.lance.mybatis.test.TestMapper;
+
+/**
+ * 分页总数统计方式测试类
+ * 测试 CountPage 指定的 NONE、CACHED、ASYNC、ESTIMATED 统计方式，默认统计方式配置为 NONE
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=false",
+        "mybatis.pagination.count-mode=NONE",
+        "spring.datasource.url=jdbc:h2:mem:count_mode_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")"
+})
+class MyBatisCountModeTest {
+
+    @Autowired
+    private TestMapper testMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        testMapper.delete(null);
+        jdbcTemplate.execute("ALTER TABLE test_entity ALTER COLUMN id RESTART WITH 1");
+    }
+
+    private void prepareTestData(int count, String name) {
+        for (int i = 1; i <= count; i++) {
+            testMapper.insert(new TestEntity(name, "描述" + i));
+        }
+    }
+
+    /**
+     * TC-030: 测试 NONE 不统计总数
+     * 验证返回页面数据，total 为 0 且标记为非精确
+     */
+    @Test
+    void testCountModeNone() {
+        prepareTestData(12, "none");
+
+        CountPage<TestEntity> page = testMapper.selectPage(CountPage.of(2, 5, CountMode.NONE), null);
+
+        assertEquals(5, page.getRecords().size(), "应该返回第二页数据");
+        assertEquals(0, page.getTotal(), "不统计时 total 应该为 0");
+        assertFalse(page.isTotalExact());
+    }
+
+    /**
+     * TC-031: 测试 CACHED 缓存总数
+     * 验证首次查询精确统计，缓存有效期内相同 SQL 和参数直接使用缓存值，参数不同时重新统计
+     */
+    @Test
+    void testCountModeCached() {
+        prepareTestData(10, "cached");
+        QueryWrapper<TestEntity> wrapper = new QueryWrapper<TestEntity>().eq("name", "cached");
+
+        CountPage<TestEntity> first = testMapper.selectPage(CountPage.of(1, 5, CountMode.CACHED), wrapper);
+        assertEquals(10, first.getTotal());
+        assertTrue(first.isTotalExact(), "首次查询应该精确统计");
+
+        prepareTestData(5, "cached");
+        CountPage<TestEntity> second = testMapper.selectPage(CountPage.of(1, 5, CountMode.CACHED),
+                new QueryWrapper<TestEntity>().eq("name", "cached"));
+        assertEquals(10, second.getTotal(), "缓存有效期内应该使用缓存值");
+        assertFalse(second.isTotalExact());
+
+        prepareTestData(3, "other");
+        CountPage<TestEntity> other = testMapper.selectPage(CountPage.of(1, 5, CountMode.CACHED),
+                new QueryWrapper<TestEntity>().eq("name", "other"));
+        assertEquals(3, other.getTotal(), "参数不同时应该重新统计");
+        assertTrue(other.isTotalExact());
+    }
+
+    /**
+     * TC-032: 测试 ASYNC 异步统计总数
+     * 验证页面数据立即返回，总数通过 totalFuture 获取，之后的相同查询使用缓存值
+     */
+    @Test
+    void testCountModeAsync() throws Exception {
+        prepareTestData(8, "async");
+        QueryWrapper<TestEntity> wrapper = new QueryWrapper<TestEntity>().eq("name", "async");
+
+        CountPage<TestEntity> first = testMapper.selectPage(CountPage.of(1, 5, CountMode.ASYNC), wrapper);
+        assertEquals(5, first.getRecords().size());
+        assertFalse(first.isTotalExact());
+        assertNotNull(first.getTotalFuture());
+        assertEquals(8L, first.getTotalFuture().get(5, TimeUnit.SECONDS));
+
+        CountPage<TestEntity> second = testMapper.selectPage(CountPage.of(2, 5, CountMode.ASYNC),
+                new QueryWrapper<TestEntity>().eq("name", "async"));
+        assertEquals(8, second.getTotal(), "异步统计完成后应该使用缓存值");
+        assertEquals(3, second.getRecords().size());
+    }
+
+    /**
+     * TC-033: 测试 ESTIMATED 在非 MySQL 数据库下退回精确统计
+     * 验证 H2 下总数精确，并转换为 PageResult
+     */
+    @Test
+    void testCountModeEstimatedFallback() {
+        prepareTestData(7, "estimated");
+
+        CountPage<TestEntity> page = testMapper.selectPage(CountPage.of(1, 5, CountMode.ESTIMATED), null);
+        PageResult<TestEntity> result = CountPage.toPageResult(page);
+
+        assertEquals(7, result.getTotal());
+        assertTrue(result.isTotalExact());
+        assertEquals(5, result.getRecords().size());
+        assertNull(page.getTotalFuture());
+    }
+
+    /**
+     * TC-058: 测试默认统计方式只作用于 CountPage
+     * 默认方式为 NONE 时，普通 Page 仍精确统计且转换结果标记为精确，未指定方式的 CountPage 使用默认方式
+     */
+    @Test
+    void testDefaultModeOnlyAppliesToCountPage() {
+        prepareTestData(12, "default");
+
+        Page<TestEntity> plain = testMapper.selectPage(new Page<>(1, 5), null);
+        assertEquals(12, plain.getTotal(), "普通 Page 应该精确统计");
+        assertTrue(CountPage.toPageResult(plain).isTotalExact(), "普通 Page 转换结果应该标记为精确");
+
+        CountPage<TestEntity> defaulted = testMapper.selectPage(CountPage.of(1, 5, null), null);
+        assertEquals(5, defaulted.getRecords().size());
+        assertEquals(0, defaulted.getTotal(), "未指定方式的 CountPage 应该使用默认的 NONE");
+        assertFalse(CountPage.toPageResult(defaulted).isTotalExact());
+    }
+}
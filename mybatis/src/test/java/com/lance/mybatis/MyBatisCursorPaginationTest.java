@@ -0,0 +1,229 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.lance.common.exception.BusinessException;
+import com.lance.common.model.CursorPageInfo;
+import com.lance.common.model.CursorPageResult;
+import com.lance.common.utils.CursorCodec;
+import com.lance.mybatis.test.TestApplication;
+import com.lance.mybatis.test.TestEntity;
+import com.lance.mybatis.test.TestMapper;
+
+/**
+ * 游标分页测试类
+ * 测试 CursorPagination 的翻页正确性，并与 offset 分页对比深分页耗时
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=false",
+        "pagination.cursor.secret=cursor-test-secret",
+        "spring.datasource.url=jdbc:h2:mem:cursor_pagination_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")",
+        "CREATE INDEX IF NOT EXISTS idx_test_entity_name_id ON test_entity (name, id)"
+})
+class MyBatisCursorPaginationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MyBatisCursorPaginationTest.class);
+
+    @Autowired
+    private TestMapper testMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        testMapper.delete(null);
+        jdbcTemplate.execute("ALTER TABLE test_entity ALTER COLUMN id RESTART WITH 1");
+    }
+
+    /**
+     * 批量准备测试数据，name 只有 10 种取值，用于验证排序列重复时按主键区分
+     */
+    private void prepareTestData(int count) {
+        jdbcTemplate.execute("INSERT INTO test_entity (name, description) "
+                + "SELECT CONCAT('实体', MOD(X, 10)), CONCAT('描述', X) FROM SYSTEM_RANGE(1, " + count + ")");
+    }
+
+    /**
+     * TC-026: 测试按主键游标翻页
+     * 验证逐页翻到末页，数据不重复不遗漏，末页没有下一页游标
+     */
+    @Test
+    void testCursorPaginationById() {
+        prepareTestData(23);
+
+        List<Long> ids = new ArrayList<>();
+        CursorPageInfo pageInfo = new CursorPageInfo();
+        pageInfo.setSize(5);
+        CursorPageResult<TestEntity> result;
+        do {
+            result = CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo);
+            result.getRecords().forEach(entity -> ids.add(entity.getId()));
+            pageInfo.setCursor(result.getNextCursor());
+        } while (result.isHasNext());
+
+        assertEquals(3, result.getRecords().size(), "末页应该返回 3 条数据");
+        assertNull(result.getNextCursor(), "末页不应该有下一页游标");
+        assertEquals(23, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1L, ids.get(i), "数据应该按主键升序且连续");
+        }
+    }
+
+    /**
+     * TC-027: 测试按排序列和主键游标翻页（带条件、降序）
+     * 验证排序列存在重复值时，游标翻页结果与一次性排序查询一致
+     */
+    @Test
+    void testCursorPaginationBySortColumn() {
+        prepareTestData(100);
+
+        List<Long> expected = testMapper.selectList(new QueryWrapper<TestEntity>()
+                        .ne("name", "实体0").orderByDesc("name").orderByDesc("id"))
+                .stream().map(TestEntity::getId).toList();
+
+        List<Long> actual = new ArrayList<>();
+        CursorPageInfo pageInfo = new CursorPageInfo();
+        pageInfo.setSize(7);
+        CursorPageResult<TestEntity> result;
+        do {
+            QueryWrapper<TestEntity> wrapper = new QueryWrapper<TestEntity>().ne("name", "实体0");
+            result = CursorPagination.selectPage(testMapper, TestEntity.class, wrapper, pageInfo, "name", false);
+            result.getRecords().forEach(entity -> actual.add(entity.getId()));
+            pageInfo.setCursor(result.getNextCursor());
+        } while (result.isHasNext());
+
+        assertEquals(90, actual.size());
+        assertEquals(expected, actual, "游标翻页结果应该与整体排序结果一致");
+    }
+
+    /**
+     * TC-063: 测试带 OR 条件的游标翻页
+     * 调用方条件含 OR 时游标条件作用于所有分支，逐页翻到末页数据不重复不遗漏
+     */
+    @Test
+    void testCursorPaginationWithOrCondition() {
+        prepareTestData(100);
+
+        List<Long> expected = testMapper.selectList(new QueryWrapper<TestEntity>()
+                        .eq("name", "实体1").or().eq("name", "实体2").orderByAsc("id"))
+                .stream().map(TestEntity::getId).toList();
+
+        List<Long> actual = new ArrayList<>();
+        CursorPageInfo pageInfo = new CursorPageInfo();
+        pageInfo.setSize(6);
+        CursorPageResult<TestEntity> result;
+        int pages = 0;
+        do {
+            QueryWrapper<TestEntity> wrapper = new QueryWrapper<TestEntity>().eq("name", "实体1").or().eq("name", "实体2");
+            result = CursorPagination.selectPage(testMapper, TestEntity.class, wrapper, pageInfo);
+            result.getRecords().forEach(entity -> actual.add(entity.getId()));
+            pageInfo.setCursor(result.getNextCursor());
+        } while (result.isHasNext() && ++pages < 10);
+
+        assertEquals(20, expected.size());
+        assertEquals(expected, actual, "OR 条件下游标翻页结果应该与整体查询一致");
+    }
+
+    /**
+     * TC-028: 测试非法游标和非法分页大小
+     * 验证篡改或不匹配的游标、非正数分页大小抛出参数错误
+     */
+    @Test
+    void testInvalidCursor() {
+        CursorPageInfo pageInfo = new CursorPageInfo();
+        pageInfo.setSize(0);
+        assertThrows(BusinessException.class, () -> CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo));
+
+        pageInfo.setSize(5);
+        pageInfo.setCursor("not-a-cursor!");
+        assertThrows(BusinessException.class, () -> CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo));
+
+        prepareTestData(10);
+        pageInfo.setCursor(null);
+        String idCursor = CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo).getNextCursor();
+        assertNotNull(idCursor);
+        pageInfo.setCursor(idCursor);
+        assertThrows(BusinessException.class,
+                () -> CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo, "name", true));
+    }
+
+    /**
+     * TC-029: 对比深分页耗时
+     * 在 20 万条数据上分别用 offset 分页和游标分页读取第一页与最后一页附近的数据，
+     * 游标分页的深分页耗时应与第一页相当，offset 分页随页码线性增长；耗时只输出日志，不做断言以免环境抖动导致失败
+     */
+    @Test
+    void testDeepPageCost() {
+        int total = 200_000;
+        int size = 20;
+        prepareTestData(total);
+
+        long offsetFirst = timeOffsetPage(1, size);
+        long offsetDeep = timeOffsetPage(total / size - 1, size);
+
+        CursorPageInfo pageInfo = new CursorPageInfo();
+        pageInfo.setSize(size);
+        long cursorFirst = timeCursorPage(pageInfo);
+        pageInfo.setCursor(CursorCodec.encode((long) total - 2 * size));
+        CursorPageResult<TestEntity> deep = CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo);
+        long cursorDeep = timeCursorPage(pageInfo);
+
+        assertEquals(size, deep.getRecords().size());
+        assertTrue(deep.isHasNext());
+        assertFalse(deep.getRecords().isEmpty());
+        log.info("offset 分页: 第一页 {} µs, 深分页 {} µs; 游标分页: 第一页 {} µs, 深分页 {} µs",
+                offsetFirst, offsetDeep, cursorFirst, cursorDeep);
+    }
+
+    private long timeOffsetPage(long current, int size) {
+        testMapper.selectPage(new Page<>(current, size, false), new QueryWrapper<TestEntity>().orderByAsc("id"));
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            testMapper.selectPage(new Page<>(current, size, false), new QueryWrapper<TestEntity>().orderByAsc("id"));
+        }
+        return (System.nanoTime() - start) / 5_000;
+    }
+
+    private long timeCursorPage(CursorPageInfo pageInfo) {
+        CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            CursorPagination.selectPage(testMapper, TestEntity.class, null, pageInfo);
+        }
+        return (System.nanoTime() - start) / 5_000;
+    }
+}
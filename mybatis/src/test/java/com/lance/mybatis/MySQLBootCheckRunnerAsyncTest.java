@@ -0,0 +1,147 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.lance.mybatis.test.TestApplication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * MySQLBootCheckRunner 后台检查测试类
+ * 测试 block=false 时在应用就绪后后台检查，并通过健康指示器和指标发布检查结果
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class, MySQLBootCheckRunnerAsyncTest.ListenerConfig.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=true",
+        "mybatis.boot.check.block=false",
+        "spring.datasource.url=jdbc:h2:mem:async_check_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE TABLE IF NOT EXISTS test_entity (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100), description VARCHAR(255))",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+class MySQLBootCheckRunnerAsyncTest {
+
+    @Autowired
+    private MySQLBootCheckRunner runner;
+
+    @Autowired
+    private MapperCheckHealthIndicator healthIndicator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecordingListener listener;
+
+    /**
+     * 等待应用就绪后启动的后台检查完成
+     */
+    @BeforeEach
+    void awaitBackgroundCheck() throws InterruptedException {
+        assertTrue(listener.done.await(10, TimeUnit.SECONDS), "后台检查应该在应用就绪后完成");
+    }
+
+    /**
+     * TC-054: 测试 block=false 时在应用就绪后后台检查
+     * 验证检查在后台线程中执行并通知监听器
+     */
+    @Test
+    void testCheckRunsInBackground() {
+        assertEquals("mybatis-boot-check", listener.threadName, "检查应该在后台线程中执行");
+        assertNotNull(runner.getLastReport());
+        assertTrue(runner.getLastReport().isHealthy(), "表已存在时检查应该通过: " + runner.getLastReport());
+    }
+
+    /**
+     * TC-055: 测试健康指示器
+     * 检查通过时为 UP 并包含每个 Mapper 的状态和耗时，存在失败的 Mapper 时为 DOWN
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHealthIndicator() {
+        Health health = healthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        Map<String, Map<String, Object>> mappers = (Map<String, Map<String, Object>>) health.getDetails().get("mappers");
+        assertEquals(MapperCheckReport.Status.OK, mappers.get("TestMapper").get("status"));
+        assertNotNull(mappers.get("TestMapper").get("elapsedMillis"), "应该包含单个 Mapper 的耗时");
+
+        MySQLBootCheckRunner failing = new MySQLBootCheckRunner();
+        BaseMapper<?> broken = (BaseMapper<?>) Proxy.newProxyInstance(BaseMapper.class.getClassLoader(),
+                new Class<?>[]{BaseMapper.class}, (proxy, method, args) -> {
+                    throw new IllegalStateException("连接失败");
+                });
+        ReflectionTestUtils.setField(failing, "mappers", List.of(broken));
+        assertEquals(Status.UNKNOWN, new MapperCheckHealthIndicator(failing).health().getStatus(), "检查完成前应该为 UNKNOWN");
+        failing.checkMybatisMappers();
+        Health down = new MapperCheckHealthIndicator(failing).health();
+        assertEquals(Status.DOWN, down.getStatus(), "存在失败的 Mapper 时应该为 DOWN");
+        assertEquals(1L, down.getDetails().get("failed"));
+    }
+
+    /**
+     * TC-056: 测试检查耗时指标
+     * 验证整体和每个 Mapper 的检查耗时已发布
+     */
+    @Test
+    void testMetrics() {
+        Timer total = meterRegistry.find("mybatis.boot.check").tag("result", "healthy").timer();
+        Timer mapper = meterRegistry.find("mybatis.boot.check.mapper").tags("mapper", "TestMapper", "status", "OK").timer();
+        assertNotNull(total, "应该发布整体检查耗时");
+        assertNotNull(mapper, "应该发布单个 Mapper 检查耗时");
+        assertEquals(1, total.count());
+        assertEquals(1, mapper.count());
+    }
+
+    /**
+     * 记录检查线程和完成状态的监听器
+     */
+    static class RecordingListener implements MapperCheckListener {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile String threadName;
+
+        @Override
+        public void onReport(MapperCheckReport report) {
+            threadName = Thread.currentThread().getName();
+            done.countDown();
+        }
+    }
+
+    @Configuration
+    static class ListenerConfig {
+
+        @Bean
+        public RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
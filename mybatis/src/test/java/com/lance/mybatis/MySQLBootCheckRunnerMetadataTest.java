@@ -0,0 +1,171 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.lance.mybatis.test.TestApplication;
+
+/**
+ * MySQLBootCheckRunner 元数据检查测试类
+ * 测试按 TableInfo 对比数据库元数据发现缺少的表和列，以及表结构快照的本地缓存
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=true",
+        "mybatis.boot.check.block=false",
+        "mybatis.boot.check.mode=METADATA",
+        "spring.datasource.url=jdbc:h2:mem:metadata_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")"
+})
+class MySQLBootCheckRunnerMetadataTest {
+
+    @Autowired
+    private MySQLBootCheckRunner runner;
+
+    @Autowired
+    private List<BaseMapper<?>> mappers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path cacheDir;
+
+    /**
+     * 各测试会修改表结构，结束后删除表，由下一个测试的 @Sql 重新创建
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS test_entity");
+        runner.schemaVersion = "";
+        ReflectionTestUtils.setField(runner, "dataSource", dataSource);
+    }
+
+    /**
+     * TC-051: 测试表结构完整时元数据检查通过
+     * 验证所有 Mapper 的实体表和列都存在
+     */
+    @Test
+    void testMetadataCheckPasses() throws Exception {
+        MapperCheckReport report = runner.verifySchema(mappers);
+
+        assertEquals(mappers.size(), report.getResults().size());
+        assertEquals(mappers.size(), report.count(MapperCheckReport.Status.OK), "表结构完整时所有 Mapper 应该检查通过: " + report);
+        assertTrue(report.isHealthy());
+    }
+
+    /**
+     * TC-052: 测试发现缺少的列和表
+     * 删除列后报告缺少该列，删除表后报告表不存在
+     */
+    @Test
+    void testMissingColumnAndTable() throws Exception {
+        jdbcTemplate.execute("ALTER TABLE test_entity DROP COLUMN description");
+        MapperCheckReport report = runner.verifySchema(mappers);
+        assertEquals(mappers.size(), report.count(MapperCheckReport.Status.FAILED));
+        assertTrue(report.getProblems().get(0).error().contains("缺少列: description"), "应该报告缺少的列: " + report);
+
+        jdbcTemplate.execute("DROP TABLE test_entity");
+        report = runner.verifySchema(mappers);
+        assertTrue(report.getProblems().get(0).error().contains("不存在"), "应该报告表不存在: " + report);
+    }
+
+    /**
+     * TC-053: 测试表结构快照本地缓存
+     * 版本号不变时使用本地快照而不查询数据库，版本号变化后重新读取元数据
+     */
+    @Test
+    void testSnapshotCachedBySchemaVersion() throws Exception {
+        runner.cacheDir = cacheDir.toString();
+        runner.schemaVersion = "v1";
+        assertTrue(runner.verifySchema(mappers).isHealthy());
+        assertEquals(1, countFiles(cacheDir), "应该保存一份本地快照");
+
+        jdbcTemplate.execute("ALTER TABLE test_entity DROP COLUMN description");
+        assertTrue(runner.verifySchema(mappers).isHealthy(), "版本号不变时应该使用本地快照，不读取数据库");
+
+        runner.schemaVersion = "v2";
+        MapperCheckReport report = runner.verifySchema(mappers);
+        assertEquals(mappers.size(), report.count(MapperCheckReport.Status.FAILED), "版本号变化后应该重新读取元数据");
+        assertEquals(2, countFiles(cacheDir));
+    }
+
+    /**
+     * TC-059: 测试本地快照按实际连接的数据源区分
+     * 版本号相同但连接不同数据库时各自读取元数据，不共用快照
+     */
+    @Test
+    void testSnapshotKeyedByActualDataSource() throws Exception {
+        runner.cacheDir = cacheDir.toString();
+        runner.schemaVersion = "v1";
+        assertTrue(runner.verifySchema(mappers).isHealthy());
+
+        ReflectionTestUtils.setField(runner, "dataSource", new DriverManagerDataSource(
+                "jdbc:h2:mem:metadata_other_testdb;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        MapperCheckReport report = runner.verifySchema(mappers);
+        assertEquals(mappers.size(), report.count(MapperCheckReport.Status.FAILED), "其他数据源不应该使用本数据源的快照: " + report);
+        assertEquals(2, countFiles(cacheDir), "不同数据源应该各自保存快照");
+    }
+
+    /**
+     * TC-060: 测试读取元数据失败时记为检查失败
+     * 获取连接失败不抛出异常，各 Mapper 在报告中记为 FAILED
+     */
+    @Test
+    void testMetadataFailureReported() throws Exception {
+        ReflectionTestUtils.setField(runner, "dataSource", new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("connection refused");
+            }
+        });
+
+        MapperCheckReport report = runner.verifySchema(mappers);
+
+        assertEquals(mappers.size(), report.count(MapperCheckReport.Status.FAILED));
+        assertTrue(report.getProblems().get(0).error().contains("connection refused"), "应该报告元数据读取失败原因: " + report);
+    }
+
+    private static long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
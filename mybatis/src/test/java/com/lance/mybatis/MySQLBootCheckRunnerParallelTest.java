@@ -0,0 +1,186 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.lance.mybatis.test.TestEntity;
+
+/**
+ * MySQLBootCheckRunner 并发检查测试类
+ * 使用代理 Mapper 模拟慢查询、失败和超时，测试并发度限制、单个 Mapper 超时和汇总报告
+ */
+class MySQLBootCheckRunnerParallelTest {
+
+    interface SlowMapper extends BaseMapper<TestEntity> {
+    }
+
+    interface FailingMapper extends BaseMapper<TestEntity> {
+    }
+
+    interface HangingMapper extends BaseMapper<TestEntity> {
+    }
+
+    /**
+     * TC-048: 测试并发检查和并发度限制
+     * 20 个各耗时 200ms 的 Mapper 在并发度 4 下检查，总耗时应远小于串行耗时，且同时进行的检查不超过 4 个
+     */
+    @Test
+    void testParallelismIsBounded() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<BaseMapper<?>> mappers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            mappers.add(mapper(BaseMapper.class, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(200);
+                running.decrementAndGet();
+            }));
+        }
+        MySQLBootCheckRunner runner = new MySQLBootCheckRunner();
+        runner.parallelism = 4;
+
+        MapperCheckReport report = runner.check(mappers);
+
+        assertEquals(20, report.count(MapperCheckReport.Status.OK));
+        assertEquals(4, maxRunning.get(), "同时进行的检查数应该等于并发度");
+        assertTrue(report.getElapsedMillis() < 20 * 200 / 2, "并发检查总耗时应远小于串行耗时，实际 " + report.getElapsedMillis() + "ms");
+    }
+
+    /**
+     * TC-057: 测试超时的检查仍占用并发名额
+     * 10 个各耗时 400ms 的 Mapper 在并发度 2、超时 100ms 下检查，超时后查询仍在执行，同时进行的查询不应超过 2 个，
+     * 线程被占满时排队的检查在整体期限后记为超时
+     */
+    @Test
+    void testTimedOutChecksKeepParallelismBounded() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<BaseMapper<?>> mappers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            mappers.add(mapper(HangingMapper.class, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(400);
+                running.decrementAndGet();
+            }));
+        }
+        MySQLBootCheckRunner runner = new MySQLBootCheckRunner();
+        runner.parallelism = 2;
+        runner.timeoutMillis = 100;
+
+        MapperCheckReport report = runner.check(mappers);
+
+        assertEquals(10, report.count(MapperCheckReport.Status.TIMEOUT), "所有检查都应该超时: " + report);
+        assertTrue(maxRunning.get() <= 2, "超时后同时进行的查询也不应超过并发度，实际 " + maxRunning.get());
+        assertTrue(report.getElapsedMillis() < 2000, "线程被占满时不应无限等待，实际 " + report.getElapsedMillis() + "ms");
+    }
+
+    /**
+     * TC-049: 测试汇总报告中的慢、失败和超时 Mapper
+     * 超时的 Mapper 不阻塞检查结束，报告按耗时倒序列出问题 Mapper
+     */
+    @Test
+    void testReportSlowFailingAndTimeoutMappers() throws InterruptedException {
+        List<BaseMapper<?>> mappers = List.of(
+                mapper(BaseMapper.class, () -> {
+                }),
+                mapper(SlowMapper.class, () -> sleep(150)),
+                mapper(FailingMapper.class, () -> {
+                    throw new IllegalStateException("Table 'test_entity' doesn't exist");
+                }),
+                mapper(HangingMapper.class, () -> sleep(10_000)));
+        MySQLBootCheckRunner runner = new MySQLBootCheckRunner();
+        runner.slowThresholdMillis = 100;
+        runner.timeoutMillis = 300;
+
+        MapperCheckReport report = runner.check(mappers);
+
+        assertTrue(report.getElapsedMillis() < 2000, "超时的 Mapper 不应阻塞检查，实际 " + report.getElapsedMillis() + "ms");
+        assertFalse(report.isHealthy(), "存在失败和超时的 Mapper 时报告不应健康");
+        List<MapperCheckReport.Result> problems = report.getProblems();
+        assertEquals(List.of("HangingMapper", "SlowMapper", "FailingMapper"),
+                problems.stream().map(MapperCheckReport.Result::mapper).toList(), "问题 Mapper 应按耗时倒序");
+        assertEquals(MapperCheckReport.Status.TIMEOUT, problems.get(0).status());
+        assertEquals(MapperCheckReport.Status.SLOW, problems.get(1).status());
+        assertEquals(MapperCheckReport.Status.FAILED, problems.get(2).status());
+        assertTrue(report.toString().contains("Table 'test_entity' doesn't exist"), "报告应该包含错误信息");
+    }
+
+    /**
+     * TC-050: 测试 block=true 时单个 Mapper 检查失败不阻塞启动
+     * 与原有语义一致，单个 Mapper 的失败只记录在报告中
+     */
+    @Test
+    void testMapperFailureDoesNotBlock() {
+        MySQLBootCheckRunner runner = new MySQLBootCheckRunner();
+        ReflectionTestUtils.setField(runner, "mappers", Collections.singletonList(mapper(FailingMapper.class, () -> {
+            throw new IllegalStateException("连接失败");
+        })));
+        ReflectionTestUtils.setField(runner, "block", true);
+
+        assertDoesNotThrow(runner::checkMybatisMappers, "单个 Mapper 检查失败不应阻塞启动");
+        assertNotNull(runner.getLastReport(), "检查后应该保留报告");
+        assertEquals(1, runner.getLastReport().count(MapperCheckReport.Status.FAILED));
+    }
+
+    /**
+     * TC-061: 测试监听器异常不阻塞启动
+     * block=true 时监听器抛出异常只记录警告，检查仍视为成功，后续监听器照常收到报告
+     */
+    @Test
+    void testListenerFailureDoesNotBlock() {
+        AtomicInteger notified = new AtomicInteger();
+        MySQLBootCheckRunner runner = new MySQLBootCheckRunner();
+        ReflectionTestUtils.setField(runner, "mappers", Collections.singletonList(mapper(SlowMapper.class, () -> {
+        })));
+        ReflectionTestUtils.setField(runner, "block", true);
+        ReflectionTestUtils.setField(runner, "listeners", List.<MapperCheckListener>of(report -> {
+            throw new IllegalStateException("指标注册失败");
+        }, report -> notified.incrementAndGet()));
+
+        assertDoesNotThrow(runner::checkMybatisMappers, "监听器异常不应阻塞启动");
+        assertTrue(runner.getLastReport().isHealthy());
+        assertNull(runner.getLastError(), "监听器异常不应记为检查失败");
+        assertEquals(1, notified.get(), "后续监听器应该照常收到报告");
+    }
+
+    private static BaseMapper<?> mapper(Class<?> type, Runnable selectList) {
+        return (BaseMapper<?>) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if ("selectList".equals(method.getName())) {
+                selectList.run();
+                return Collections.emptyList();
+            }
+            if ("toString".equals(method.getName())) {
+                return type.getSimpleName();
+            }
+            if ("hashCode".equals(method.getName())) {
+                return System.identityHashCode(proxy);
+            }
+            if ("equals".equals(method.getName())) {
+                return proxy == args[0];
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.lance.mybatis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.lance.mybatis.test.TestApplication;
+import com.lance.mybatis.test.TestEntity;
+import com.lance.mybatis.test.TestMapper;
+
+/**
+ * 流式查询测试类
+ * 测试 StreamingQuery 的逐行回调、分批回调和 Stream 读取，并验证读取 100 万行时堆内存保持平稳
+ */
+@SpringBootTest(classes = {TestApplication.class, MyBatisPlusAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "mybatis.boot.check.enable=false",
+        "spring.datasource.url=jdbc:h2:mem:streaming_testdb;MODE=MySQL;LAZY_QUERY_EXECUTION=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+        "mybatis-plus.type-aliases-package=com.lance.mybatis.test"
+})
+@Sql(statements = {
+        "CREATE TABLE IF NOT EXISTS test_entity (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100), " +
+                "description VARCHAR(255)" +
+                ")"
+})
+class StreamingQueryTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingQueryTest.class);
+
+    private static final int TOTAL = 1_000_000;
+
+    @Autowired
+    private TestMapper testMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 100 万行数据只准备一次，各测试只读不写
+     */
+    @BeforeEach
+    void setUp() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM test_entity", Long.class);
+        if (count == null || count != TOTAL) {
+            jdbcTemplate.execute("DELETE FROM test_entity");
+            jdbcTemplate.execute("INSERT INTO test_entity (id, name, description) "
+                    + "SELECT X, CONCAT('实体', X), CONCAT('描述描述描述描述描述', X) FROM SYSTEM_RANGE(1, " + TOTAL + ")");
+        }
+    }
+
+    /**
+     * TC-041: 测试逐行读取 100 万行时堆内存平稳
+     * 逐行回调读取全部数据，每 20 万行 GC 后采样一次堆内存，增量应远小于整体加载结果所需内存
+     */
+    @Test
+    void testForEachMemoryStaysFlat() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedHeapAfterGc(memory);
+        AtomicLong rows = new AtomicLong();
+        AtomicLong idSum = new AtomicLong();
+        List<Long> samples = new ArrayList<>();
+
+        StreamingQuery.forEach(testMapper, new QueryWrapper<TestEntity>().orderByAsc("id"), entity -> {
+            idSum.addAndGet(entity.getId());
+            if (rows.incrementAndGet() % 200_000 == 0) {
+                samples.add(usedHeapAfterGc(memory) - baseline);
+            }
+        });
+
+        assertEquals(TOTAL, rows.get());
+        assertEquals((long) TOTAL * (TOTAL + 1) / 2, idSum.get(), "应该读取到每一行");
+        long maxGrowth = samples.stream().mapToLong(Long::longValue).max().orElse(0);
+        log.info("流式读取 {} 行，堆内存增量采样(MB): {}", TOTAL, samples.stream().map(b -> b / 1024 / 1024).toList());
+        assertTrue(maxGrowth < 64L * 1024 * 1024, "流式读取期间堆内存增量应小于 64MB，实际 " + maxGrowth / 1024 / 1024 + "MB");
+    }
+
+    /**
+     * TC-042: 测试分批回调和提前停止
+     * 验证每批条数正确、最后一批为剩余数据，回调返回 false 时停止读取
+     */
+    @Test
+    void testForEachBatch() {
+        List<Integer> sizes = new ArrayList<>();
+        long rows = StreamingQuery.forEachBatch(testMapper, new QueryWrapper<TestEntity>().le("id", 2500), 1000,
+                batch -> sizes.add(batch.size()));
+        assertEquals(2500, rows);
+        assertEquals(List.of(1000, 1000, 500), sizes);
+
+        List<Long> firstIds = new ArrayList<>();
+        long read = StreamingQuery.forEachBatch(testMapper, new QueryWrapper<TestEntity>().orderByAsc("id"), 100, batch -> {
+            firstIds.add(batch.get(0).getId());
+            return firstIds.size() < 3;
+        });
+        assertEquals(300, read, "回调返回 false 后应该停止读取");
+        assertEquals(List.of(1L, 101L, 201L), firstIds);
+    }
+
+    /**
+     * TC-043: 测试 Stream 读取并关闭资源
+     * 验证 Stream 读取结果正确，提前结束并关闭后可以再次打开，流式拦截器已注册
+     */
+    @Test
+    void testStream() {
+        try (Stream<TestEntity> stream = StreamingQuery.stream(sqlSessionFactory, TestMapper.class,
+                new QueryWrapper<TestEntity>().gt("id", TOTAL - 1000))) {
+            assertEquals(1000, stream.count());
+        }
+        for (int i = 0; i < 20; i++) {
+            try (Stream<TestEntity> stream = StreamingQuery.stream(sqlSessionFactory, TestMapper.class, null)) {
+                assertEquals(List.of(1L, 2L, 3L), stream.limit(3).map(TestEntity::getId).toList());
+            }
+        }
+        assertTrue(sqlSessionFactory.getConfiguration().getInterceptors().stream()
+                .anyMatch(interceptor -> interceptor instanceof StreamingFetchSizeInterceptor));
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
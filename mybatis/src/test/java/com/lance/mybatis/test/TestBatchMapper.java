@@ -0,0 +1,12 @@
+package com.lance.mybatis.test;
+
+import com.lance.mybatis.BatchBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 测试批量写入 Mapper 接口
+ * 用于测试 BatchBaseMapper 注入的批量插入方法
+ */
+@Mapper
+public interface TestBatchMapper extends BatchBaseMapper<TestEntity> {
+}
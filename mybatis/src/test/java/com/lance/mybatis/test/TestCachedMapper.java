@@ -0,0 +1,19 @@
+package com.lance.mybatis.test;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.lance.mybatis.CaffeineCache;
+import org.apache.ibatis.annotations.CacheNamespace;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Property;
+
+/**
+ * 测试二级缓存 Mapper 接口
+ * 用于测试 CaffeineCache 二级缓存
+ */
+@Mapper
+@CacheNamespace(implementation = CaffeineCache.class, properties = {
+        @Property(name = "maximumSize", value = "100"),
+        @Property(name = "expireAfterWrite", value = "10m")
+})
+public interface TestCachedMapper extends BaseMapper<TestEntity> {
+}
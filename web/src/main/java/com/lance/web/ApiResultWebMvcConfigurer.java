@@ -0,0 +1,23 @@
+package com.lance.web;
+
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * ApiResult 相关的 Spring MVC 配置
+ * 将 ConstantApiResultHttpMessageConverter 放在消息转换器首位，复用应用 Jackson 转换器的 ObjectMapper，保证输出一致
+ */
+public class ApiResultWebMvcConfigurer implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .ifPresent(objectMapper -> converters.add(0, new ConstantApiResultHttpMessageConverter(objectMapper)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.lance.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lance.common.model.ConstantApiResult;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 常量响应结果消息转换器
+ * ConstantApiResult 内容固定，首次写出时使用应用的 ObjectMapper 序列化并缓存字节，之后直接写出缓存，不再重复序列化
+ */
+public class ConstantApiResultHttpMessageConverter extends AbstractHttpMessageConverter<ConstantApiResult<?>> {
+
+    private final ObjectMapper objectMapper;
+    private final Map<ConstantApiResult<?>, byte[]> cache = new ConcurrentHashMap<>();
+
+    public ConstantApiResultHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConstantApiResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ConstantApiResult<?> readInternal(Class<? extends ConstantApiResult<?>> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("ConstantApiResult is write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ConstantApiResult<?> result, MediaType contentType) {
+        return (long) bytes(result).length;
+    }
+
+    @Override
+    protected void writeInternal(ConstantApiResult<?> result, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(bytes(result));
+    }
+
+    private byte[] bytes(ConstantApiResult<?> result) {
+        return cache.computeIfAbsent(result, key -> {
+            try {
+                return objectMapper.writeValueAsBytes(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.lance.web;
+
+import com.lance.common.exception.ErrorCodeRegistry;
+import com.lance.common.exception.IError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 错误码注册器
+ * 启动时扫描指定包下所有 IError 枚举并注册到 ErrorCodeRegistry，存在重复错误码时启动失败
+ */
+public class ErrorCodeRegistrar implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorCodeRegistrar.class);
+
+    private final String[] basePackages;
+
+    public ErrorCodeRegistrar(String[] basePackages) {
+        this.basePackages = basePackages;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterPropertiesSet() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent()
+                        && Enum.class.getName().equals(beanDefinition.getMetadata().getSuperClassName());
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(IError.class));
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        int count = 0;
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.forName(candidate.getBeanClassName(), classLoader);
+                ErrorCodeRegistry.register((Class<? extends IError>) type);
+                count++;
+            }
+        }
+        log.info("错误码注册完成，共扫描到 {} 个 IError 枚举", count);
+    }
+}
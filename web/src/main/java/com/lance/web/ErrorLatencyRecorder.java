@@ -0,0 +1,21 @@
+package com.lance.web;
+
+import com.lance.common.exception.IError;
+
+/**
+ * 错误响应耗时记录器
+ * GlobalExceptionHandler 每处理一个异常回调一次，默认不记录；存在 Micrometer 时由 MicrometerErrorLatencyRecorder 按错误码发布耗时
+ */
+public interface ErrorLatencyRecorder {
+
+    ErrorLatencyRecorder NOOP = (error, nanos) -> {
+    };
+
+    /**
+     * 记录一次错误响应的处理耗时
+     *
+     * @param error 错误信息
+     * @param nanos 处理耗时，单位纳秒
+     */
+    void record(IError error, long nanos);
+}
@@ -0,0 +1,131 @@
+package com.lance.web;
+
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.Errors;
+import com.lance.common.exception.IError;
+import com.lance.common.log.ThrottledErrorLogger;
+import com.lance.common.model.ApiResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 全局异常处理器
+ * <p>
+ * 将异常统一转换为 ApiResult 响应：
+ * - BusinessException：HTTP 状态码取 {@link IError#getHttpCode()}，响应体优先取 {@link IError#getResponseBody()}，
+ * 否则为 ApiResult.constantFail(error)，枚举错误返回常量结果，由 ConstantApiResultHttpMessageConverter 直接写出缓存的字节
+ * - 参数校验失败：{@link Errors#ILLEGAL_ARGUMENT_EXCEPTION}，msg 为具体的校验信息
+ * - Spring MVC 自身的异常（如 404、405）：保留其 HTTP 状态码
+ * - 其他异常：{@link Errors#INTERNAL_SERVER_ERROR}，通过 ThrottledErrorLogger 限流记录日志
+ * 每次处理耗时按错误码交给 {@link ErrorLatencyRecorder} 记录。
+ * 优先级最低，业务服务自定义的 ControllerAdvice 会优先生效
+ * </p>
+ */
+@RestControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final ThrottledErrorLogger ERROR_LOGGER = new ThrottledErrorLogger(log, 10, 1, TimeUnit.MINUTES);
+
+    private final ErrorLatencyRecorder latencyRecorder;
+
+    /**
+     * 由组件扫描创建，未引入 Micrometer 时没有 ErrorLatencyRecorder Bean，使用 NOOP
+     */
+    public GlobalExceptionHandler(ObjectProvider<ErrorLatencyRecorder> latencyRecorder) {
+        this.latencyRecorder = latencyRecorder.getIfAvailable(() -> ErrorLatencyRecorder.NOOP);
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<Object> handleBusinessException(BusinessException e) {
+        long start = System.nanoTime();
+        IError error = e.getError();
+        if (error.getHttpCode() >= 500 || e.getCause() != null) {
+            ERROR_LOGGER.log(e);
+        } else if (log.isDebugEnabled()) {
+            log.debug("业务异常 [{}] {}", error.getCode(), e.getMessage());
+        }
+        Object body = error.getResponseBody() != null ? error.getResponseBody() : ApiResult.constantFail(error);
+        return respond(error, body, start);
+    }
+
+    @ExceptionHandler({BindException.class, ConstraintViolationException.class, HandlerMethodValidationException.class,
+            MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<Object> handleValidationException(Exception e) {
+        long start = System.nanoTime();
+        String msg = validationMessage(e);
+        if (log.isDebugEnabled()) {
+            log.debug("参数校验失败: {}", msg);
+        }
+        IError error = Errors.ILLEGAL_ARGUMENT_EXCEPTION;
+        return respond(error, ApiResult.fail(error.getCode(), msg), start);
+    }
+
+    @ExceptionHandler(Throwable.class)
+    public ResponseEntity<Object> handleThrowable(Throwable e) {
+        long start = System.nanoTime();
+        if (e instanceof ErrorResponse errorResponse) {
+            int status = errorResponse.getStatusCode().value();
+            IError error = Errors.error(status, e.getMessage()).setHttpCode(status);
+            if (log.isDebugEnabled()) {
+                log.debug("请求处理失败 [{}] {}", status, e.getMessage());
+            }
+            return respond(error, ApiResult.fail(error), start);
+        }
+        IError error = Errors.INTERNAL_SERVER_ERROR;
+        ERROR_LOGGER.log(error, e.getMessage(), e);
+        return respond(error, ApiResult.constantFail(error), start);
+    }
+
+    private ResponseEntity<Object> respond(IError error, Object body, long start) {
+        ResponseEntity<Object> response = ResponseEntity.status(error.getHttpCode()).body(body);
+        latencyRecorder.record(error, System.nanoTime() - start);
+        return response;
+    }
+
+    private static String validationMessage(Exception e) {
+        if (e instanceof BindException bindException) {
+            return bindException.getAllErrors().stream()
+                    .map(GlobalExceptionHandler::objectErrorMessage)
+                    .collect(Collectors.joining("; "));
+        }
+        if (e instanceof ConstraintViolationException violationException) {
+            return violationException.getConstraintViolations().stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining("; "));
+        }
+        if (e instanceof HandlerMethodValidationException validationException) {
+            return validationException.getAllValidationResults().stream()
+                    .flatMap(result -> result.getResolvableErrors().stream()
+                            .map(resolvable -> result.getMethodParameter().getParameterName() + " " + resolvable.getDefaultMessage()))
+                    .collect(Collectors.joining("; "));
+        }
+        return e.getMessage();
+    }
+
+    private static String objectErrorMessage(ObjectError error) {
+        if (error instanceof FieldError fieldError) {
+            return fieldError.getField() + " " + fieldError.getDefaultMessage();
+        }
+        return error.getDefaultMessage();
+    }
+}
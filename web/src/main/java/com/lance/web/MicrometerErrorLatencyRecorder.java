@@ -0,0 +1,47 @@
+package com.lance.web;
+
+import com.lance.common.exception.IError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Micrometer 的错误响应耗时记录器
+ * 按错误码和 HTTP 状态码发布 business.errors.handling 计时器，Timer 按标签组合缓存，记录路径不再查找注册表；
+ * 容器中没有 MeterRegistry 时不记录
+ */
+public class MicrometerErrorLatencyRecorder implements ErrorLatencyRecorder {
+
+    public static final String METRIC_NAME = "business.errors.handling";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<Long, Timer> timers = new ConcurrentHashMap<>();
+
+    public MicrometerErrorLatencyRecorder(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public void record(IError error, long nanos) {
+        Integer code = error.getCode();
+        int status = error.getHttpCode();
+        long key = ((long) (code == null ? Integer.MIN_VALUE : code) << 32) | (status & 0xFFFFFFFFL);
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            MeterRegistry registry = registryProvider.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            timer = timers.computeIfAbsent(key, k -> Timer.builder(METRIC_NAME)
+                    .description("全局异常处理耗时")
+                    .tag("code", String.valueOf(code))
+                    .tag("status", String.valueOf(status))
+                    .register(registry));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,70 @@
+package com.lance.web;
+
+import com.lance.common.metrics.ErrorMetricsBinder;
+import com.lance.common.metrics.MaskMetricsBinder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Web 模块自动配置类
+ * 提供错误码注册、错误码指标、常量响应缓存等 Web 层公共组件，全局异常处理器 GlobalExceptionHandler 由组件扫描注册
+ */
+@Configuration
+public class WebAutoConfiguration {
+
+    /**
+     * 错误码注册器
+     * 启动时扫描 IError 枚举并注册到 ErrorCodeRegistry，错误码重复时启动失败
+     */
+    @Bean
+    public ErrorCodeRegistrar errorCodeRegistrar(@Value("${web.error-code.scan-packages:com.lance}") String[] basePackages) {
+        return new ErrorCodeRegistrar(basePackages);
+    }
+
+    /**
+     * ApiResult 常量结果直接写出缓存的 JSON 字节
+     */
+    @Bean
+    public ApiResultWebMvcConfigurer apiResultWebMvcConfigurer() {
+        return new ApiResultWebMvcConfigurer();
+    }
+
+    /**
+     * 错误码指标配置
+     * 存在 Micrometer 时将业务错误计数发布为 business.errors 指标，全局异常处理耗时发布为 business.errors.handling 指标，
+     * 脱敏规则缓存统计发布为 mask.rule.cache.* 指标
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class ErrorMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorMetricsBinder errorMetricsBinder() {
+            return new ErrorMetricsBinder();
+        }
+
+        /**
+         * 将 MaskUtil 脱敏规则缓存的命中、未命中、淘汰统计发布为 mask.rule.cache.* 指标
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public MaskMetricsBinder maskMetricsBinder() {
+            return new MaskMetricsBinder();
+        }
+
+        /**
+         * 按错误码记录全局异常处理耗时，发布为 business.errors.handling 指标
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public ErrorLatencyRecorder errorLatencyRecorder(ObjectProvider<MeterRegistry> registryProvider) {
+            return new MicrometerErrorLatencyRecorder(registryProvider);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.lance.web;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.lance.web.test.TestApplication;
+
+/**
+ * ApiResultWebMvcConfigurer 测试类
+ * 测试常量 ApiResult 直接写出缓存的 JSON 字节
+ */
+@SpringBootTest(classes = {TestApplication.class, WebAutoConfiguration.class})
+@AutoConfigureMockMvc
+class ApiResultWebMvcConfigurerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    /**
+     * 测试常量结果转换器位于首位
+     */
+    @Test
+    void testConverterRegisteredFirst() {
+        assertInstanceOf(ConstantApiResultHttpMessageConverter.class, handlerAdapter.getMessageConverters().get(0));
+    }
+
+    /**
+     * 测试常量结果输出与普通 Jackson 序列化一致
+     */
+    @Test
+    void testConstantResults() throws Exception {
+        String success = "{\"code\":0,\"msg\":\"SUCCESS\",\"data\":null,\"success\":true}";
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/test/success"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().longValue("Content-Length", success.length()))
+                    .andExpect(content().json(success, true));
+        }
+        mockMvc.perform(get("/test/fail"))
+                .andExpect(content().json("{\"code\":401,\"msg\":\"Unauthorized\",\"data\":null,\"success\":false}", true));
+        mockMvc.perform(get("/test/data"))
+                .andExpect(content().json("{\"code\":0,\"msg\":\"SUCCESS\",\"data\":42,\"success\":true}", true));
+    }
+
+    /**
+     * 测试 fail(IError) 返回可修改的新实例，链式设置后按普通 Jackson 序列化输出
+     */
+    @Test
+    void testChainedSetters() throws Exception {
+        mockMvc.perform(get("/test/chained"))
+                .andExpect(content().json("{\"code\":401,\"msg\":\"登录已过期\",\"data\":\"token\",\"success\":false}", true));
+        mockMvc.perform(get("/test/fail"))
+                .andExpect(content().json("{\"code\":401,\"msg\":\"Unauthorized\",\"data\":null,\"success\":false}", true));
+    }
+}
@@ -0,0 +1,32 @@
+package com.lance.web;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.lance.common.exception.ErrorCodeRegistry;
+import com.lance.common.exception.Errors;
+import com.lance.web.test.TestErrors;
+
+/**
+ * ErrorCodeRegistrar 测试类
+ * 测试启动时扫描并注册 IError 枚举
+ */
+@SpringBootTest(classes = {WebAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "web.error-code.scan-packages=com.lance.web.test"
+})
+class ErrorCodeRegistrarTest {
+
+    /**
+     * 测试扫描到的枚举可按错误码反查
+     */
+    @Test
+    void testScannedErrorsResolvable() {
+        assertSame(TestErrors.ORDER_NOT_FOUND, ErrorCodeRegistry.resolve(10404));
+        assertSame(TestErrors.ORDER_FORBIDDEN, ErrorCodeRegistry.resolve(10403));
+        assertSame(Errors.INTERNAL_SERVER_ERROR, ErrorCodeRegistry.resolve(500));
+    }
+}
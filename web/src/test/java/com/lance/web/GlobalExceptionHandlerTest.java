@@ -0,0 +1,86 @@
+package com.lance.web;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.lance.web.test.TestApplication;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * GlobalExceptionHandler 测试类
+ * 测试业务异常、参数校验异常和未知异常统一转换为 ApiResult，并按错误码记录处理耗时
+ */
+@SpringBootTest(classes = {TestApplication.class, WebAutoConfiguration.class, GlobalExceptionHandler.class,
+        GlobalExceptionHandlerTest.MetricsConfig.class})
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 测试业务异常使用 IError 的 HTTP 状态码，枚举错误走常量结果
+     */
+    @Test
+    void testBusinessException() throws Exception {
+        mockMvc.perform(get("/test/forbidden"))
+                .andExpect(status().isForbidden())
+                .andExpect(content().json("{\"code\":10403,\"msg\":\"无权访问订单\",\"data\":null,\"success\":false}", true));
+        mockMvc.perform(get("/test/not-found"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{\"code\":10404,\"msg\":\"订单 A001 不存在\",\"success\":false}"));
+
+        Timer timer = meterRegistry.find(MicrometerErrorLatencyRecorder.METRIC_NAME).tag("code", "10403").tag("status", "403").timer();
+        assertEquals(1, timer.count());
+    }
+
+    /**
+     * 测试参数校验失败返回参数错误及字段信息
+     */
+    @Test
+    void testValidationException() throws Exception {
+        mockMvc.perform(post("/test/valid").contentType(MediaType.APPLICATION_JSON).content("{\"orderNo\":\"\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"code\":502,\"success\":false}"))
+                .andExpect(content().string(containsString("orderNo")));
+    }
+
+    /**
+     * 测试未知异常返回系统错误，Spring MVC 异常保留原状态码
+     */
+    @Test
+    void testUnknownException() throws Exception {
+        mockMvc.perform(get("/test/error"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"code\":500,\"msg\":\"Internal Server Error\",\"success\":false}"));
+        mockMvc.perform(post("/test/success"))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(content().json("{\"code\":405,\"success\":false}"));
+    }
+
+    static class MetricsConfig {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.lance.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+/**
+ * 未引入 Micrometer 时的 GlobalExceptionHandler 测试类
+ * 模拟使用方通过组件扫描同时注册 WebAutoConfiguration 和 GlobalExceptionHandler，但 classpath 中没有 Micrometer
+ */
+class GlobalExceptionHandlerWithoutMetricsTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withClassLoader(new FilteredClassLoader("io.micrometer"))
+            .withUserConfiguration(WebAutoConfiguration.class, GlobalExceptionHandler.class);
+
+    /**
+     * 没有 ErrorLatencyRecorder Bean 时，异常处理器使用 NOOP 记录器正常创建
+     */
+    @Test
+    void testStartsWithoutMicrometer() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(GlobalExceptionHandler.class);
+            assertThat(context).doesNotHaveBean(ErrorLatencyRecorder.class);
+        });
+    }
+}
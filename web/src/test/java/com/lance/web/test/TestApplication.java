@@ -0,0 +1,11 @@
+package com.lance.web.test;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 测试应用主类
+ * 用于测试 Spring Boot Web 上下文启动
+ */
+@SpringBootApplication
+public class TestApplication {
+}
@@ -0,0 +1,64 @@
+package com.lance.web.test;
+
+import com.lance.common.exception.BusinessException;
+import com.lance.common.exception.Errors;
+import com.lance.common.model.ApiResult;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 测试 Controller
+ * 用于测试 Web 层响应处理和全局异常处理
+ */
+@RestController
+@RequestMapping("/test")
+public class TestController {
+
+    @GetMapping("/success")
+    public ApiResult<Void> success() {
+        return ApiResult.constantSuccess();
+    }
+
+    @GetMapping("/fail")
+    public ApiResult<Void> fail() {
+        return ApiResult.constantFail(Errors.UNAUTHORIZED);
+    }
+
+    @GetMapping("/chained")
+    public ApiResult<String> chained() {
+        return ApiResult.<String>fail(Errors.UNAUTHORIZED).setMsg("登录已过期").setData("token");
+    }
+
+    @GetMapping("/data")
+    public ApiResult<Integer> data() {
+        return ApiResult.success(42);
+    }
+
+    @GetMapping("/forbidden")
+    public ApiResult<Void> forbidden() {
+        throw BusinessException.of(TestErrors.ORDER_FORBIDDEN);
+    }
+
+    @GetMapping("/not-found")
+    public ApiResult<Void> notFound() {
+        throw new BusinessException(TestErrors.ORDER_NOT_FOUND.format("A001"));
+    }
+
+    @GetMapping("/error")
+    public ApiResult<Void> error() {
+        throw new IllegalStateException("boom");
+    }
+
+    @PostMapping("/valid")
+    public ApiResult<Void> valid(@Valid @RequestBody OrderRequest request) {
+        return ApiResult.success();
+    }
+
+    public record OrderRequest(@NotBlank String orderNo) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.lance.web.test;
+
+import com.lance.common.exception.IError;
+
+/**
+ * 测试错误码枚举
+ * 用于测试错误码扫描注册
+ */
+public enum TestErrors implements IError {
+    ORDER_NOT_FOUND(10404, "订单 %s 不存在", 404),
+    ORDER_FORBIDDEN(10403, "无权访问订单", 403);
+
+    private final Integer code;
+    private final String msg;
+    private final int httpCode;
+
+    TestErrors(Integer code, String msg, int httpCode) {
+        this.code = code;
+        this.msg = msg;
+        this.httpCode = httpCode;
+    }
+
+    @Override
+    public Integer getCode() {
+        return code;
+    }
+
+    @Override
+    public String getMsg() {
+        return msg;
+    }
+
+    @Override
+    public int getHttpCode() {
+        return httpCode;
+    }
+}